@@ -1,5 +1,6 @@
 package com.techcourse;
 
+import org.apache.catalina.LifecycleException;
 import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
 import org.slf4j.Logger;
@@ -17,6 +18,14 @@ public class Application {
     public static void main(String[] args) throws Exception {
         final int port = defaultPortIfNull(args);
 
+        final var tomcat = start(port);
+        tomcat.getServer().await();
+    }
+
+    /**
+     * port 가 0 이면 빈 포트를 잡는다. 실제 포트는 tomcat.getConnector().getLocalPort() 로 얻는다.
+     */
+    public static Tomcat start(final int port) throws LifecycleException {
         final var tomcat = new Tomcat();
         tomcat.setConnector(createConnector(port));
         final var docBase = new File("app/src/main/webapp/").getAbsolutePath();
@@ -24,7 +33,7 @@ public class Application {
         log.info("configuring app with basedir: {}", docBase);
 
         tomcat.start();
-        tomcat.getServer().await();
+        return tomcat;
     }
 
     private static Connector createConnector(final int port) {
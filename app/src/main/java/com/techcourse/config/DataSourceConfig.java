@@ -1,20 +1,57 @@
 package com.techcourse.config;
 
 import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.cache.QueryResultCache;
+import org.springframework.jdbc.datasource.InstrumentedDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.PooledDataSource;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 public class DataSourceConfig {
 
+    private static final int MAXIMUM_POOL_SIZE = 10;
+    private static final int MINIMUM_IDLE = 2;
+    private static final int STATEMENT_CACHE_SIZE = 250;
+    private static final int QUERY_CACHE_SIZE = 10_000;
+    private static final long QUERY_CACHE_TTL_SECONDS = 60;
+
     private static javax.sql.DataSource INSTANCE;
+    private static QueryResultCache QUERY_RESULT_CACHE;
 
     public static javax.sql.DataSource getInstance() {
         if (Objects.isNull(INSTANCE)) {
-            INSTANCE = createJdbcDataSource();
+            // 지연 프록시를 바깥에 두어야 점유 시간이 실제로 커넥션을 쓴 구간만 잰다.
+            INSTANCE = new LazyConnectionDataSourceProxy(new InstrumentedDataSource(createPooledDataSource()));
         }
         return INSTANCE;
     }
 
+    /**
+     * 이 DataSource 의 모든 JdbcTemplate 이 함께 쓰는 조회 결과 캐시.
+     * 어느 템플릿으로 쓰든 같은 캐시를 무효화하므로, 쓰기 경로마다 캐시를 따로 두면 안 된다.
+     */
+    public static QueryResultCache getQueryResultCache() {
+        if (Objects.isNull(QUERY_RESULT_CACHE)) {
+            QUERY_RESULT_CACHE = new QueryResultCache(QUERY_CACHE_SIZE, QUERY_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+        }
+        return QUERY_RESULT_CACHE;
+    }
+
+    public static JdbcTemplate createJdbcTemplate() {
+        final var jdbcTemplate = new JdbcTemplate(getInstance());
+        jdbcTemplate.setQueryResultCache(getQueryResultCache());
+        return jdbcTemplate;
+    }
+
+    private static PooledDataSource createPooledDataSource() {
+        final var pooledDataSource = new PooledDataSource(createJdbcDataSource(), MAXIMUM_POOL_SIZE, MINIMUM_IDLE);
+        pooledDataSource.setStatementCacheSize(STATEMENT_CACHE_SIZE);
+        return pooledDataSource;
+    }
+
     private static JdbcDataSource createJdbcDataSource() {
         final var jdbcDataSource = new JdbcDataSource();
         jdbcDataSource.setUrl("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1;");
@@ -0,0 +1,46 @@
+package com.techcourse.config;
+
+import com.techcourse.dao.UserHistoryDao;
+import com.techcourse.domain.UserHistory;
+import org.springframework.jdbc.core.WriteBehindWriter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+
+public class UserHistoryWriterConfig {
+
+    private static final int CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MILLIS = 50;
+
+    private static WriteBehindWriter<UserHistory> INSTANCE;
+
+    public static WriteBehindWriter<UserHistory> getInstance() {
+        if (Objects.isNull(INSTANCE)) {
+            INSTANCE = createWriter();
+        }
+        return INSTANCE;
+    }
+
+    // 배치 하나를 한 트랜잭션으로 써서 이력 건수와 관계없이 flush 당 커밋이 한 번이다.
+    private static WriteBehindWriter<UserHistory> createWriter() {
+        final var userHistoryDao = new UserHistoryDao(DataSourceConfig.createJdbcTemplate());
+        final var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(DataSourceConfig.getInstance()));
+        final var writer = new WriteBehindWriter<UserHistory>("user-history-writer", CAPACITY,
+                histories -> transactionTemplate.executeWithoutResult(status -> userHistoryDao.log(histories)));
+        writer.setMaxBatchSize(MAX_BATCH_SIZE);
+        writer.setFlushIntervalMillis(FLUSH_INTERVAL_MILLIS);
+        return writer;
+    }
+
+    // 남은 이력을 모두 쓴 뒤에 돌아온다.
+    public static void shutdown() {
+        if (Objects.nonNull(INSTANCE)) {
+            INSTANCE.close();
+            INSTANCE = null;
+        }
+    }
+
+    private UserHistoryWriterConfig() {}
+}
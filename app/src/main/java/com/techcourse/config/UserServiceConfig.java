@@ -0,0 +1,37 @@
+package com.techcourse.config;
+
+import com.techcourse.dao.UserDao;
+import com.techcourse.dao.UserHistoryDao;
+import com.techcourse.service.UserService;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Objects;
+
+public class UserServiceConfig {
+
+    private static UserService INSTANCE;
+
+    public static UserService getInstance() {
+        if (Objects.isNull(INSTANCE)) {
+            INSTANCE = createUserService();
+        }
+        return INSTANCE;
+    }
+
+    // 이력은 write-behind 로 쓰고, DAO 들은 조회 결과 캐시를 공유하는 템플릿을 쓴다.
+    private static UserService createUserService() {
+        return new UserService(
+                new UserDao(DataSourceConfig.createJdbcTemplate()),
+                new UserHistoryDao(DataSourceConfig.createJdbcTemplate()),
+                new DataSourceTransactionManager(DataSourceConfig.getInstance()),
+                UserHistoryWriterConfig.getInstance());
+    }
+
+    // 닫힌 writer 를 쥔 서비스가 남지 않도록 서비스를 먼저 버리고 writer 를 닫는다.
+    public static void shutdown() {
+        INSTANCE = null;
+        UserHistoryWriterConfig.shutdown();
+    }
+
+    private UserServiceConfig() {}
+}
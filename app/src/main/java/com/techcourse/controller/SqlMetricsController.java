@@ -0,0 +1,54 @@
+package com.techcourse.controller;
+
+import com.techcourse.config.DataSourceConfig;
+import context.org.springframework.stereotype.Controller;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.InstrumentedDataSource;
+import org.springframework.jdbc.support.metrics.SqlMetrics;
+import web.org.springframework.web.bind.annotation.RequestMapping;
+import web.org.springframework.web.bind.annotation.RequestMethod;
+import webmvc.org.springframework.web.servlet.ModelAndView;
+import webmvc.org.springframework.web.servlet.view.JsonView;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+
+@Controller
+public class SqlMetricsController {
+
+    @RequestMapping(value = "/api/metrics/sql", method = RequestMethod.GET)
+    public ModelAndView show(final HttpServletRequest request, final HttpServletResponse response) {
+        final var modelAndView = new ModelAndView(new JsonView());
+        modelAndView.addObject("metrics", SqlMetrics.getDefault().snapshot());
+        return modelAndView;
+    }
+
+    // 부하 테스트 구간만 보고 싶을 때 누적값을 비운다.
+    @RequestMapping(value = "/api/metrics/sql/reset", method = RequestMethod.POST)
+    public ModelAndView reset(final HttpServletRequest request, final HttpServletResponse response) {
+        SqlMetrics.getDefault().reset();
+        return show(request, response);
+    }
+
+    @RequestMapping(value = "/api/metrics/datasource", method = RequestMethod.GET)
+    public ModelAndView showDataSource(final HttpServletRequest request, final HttpServletResponse response)
+            throws SQLException {
+        final var modelAndView = new ModelAndView(new JsonView());
+        final var dataSource = DataSourceConfig.getInstance();
+        if (!dataSource.isWrapperFor(InstrumentedDataSource.class)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return modelAndView;
+        }
+        final var instrumented = dataSource.unwrap(InstrumentedDataSource.class);
+        final var statistics = new LinkedHashMap<String, Object>();
+        statistics.put("activeBorrowers", instrumented.getActiveBorrowers());
+        statistics.put("peakBorrowers", instrumented.getPeakBorrowers());
+        statistics.put("acquireFailures", instrumented.getAcquireFailures());
+        statistics.put("leaksDetected", instrumented.getLeaksDetected());
+        statistics.put("acquireLatency", instrumented.getAcquireLatency());
+        statistics.put("holdLatency", instrumented.getHoldLatency());
+        modelAndView.addObject("dataSource", statistics);
+        return modelAndView;
+    }
+}
@@ -1,121 +1,83 @@
 package com.techcourse.dao;
 
 import com.techcourse.domain.User;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.GeneratedKeyHolder;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.KeysetPage;
+import org.springframework.jdbc.core.KeysetQuery;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import javax.sql.DataSource;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class UserDao {
 
-    private static final Logger log = LoggerFactory.getLogger(UserDao.class);
+    private static final RowMapper<User> USER_ROW_MAPPER = BeanPropertyRowMapper.newInstance(User.class);
+    private static final KeysetQuery USERS_BY_ID = KeysetQuery.of("select id, account, password, email from users", "id");
 
-    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     public UserDao(final DataSource dataSource) {
-        this.dataSource = dataSource;
+        this(new JdbcTemplate(dataSource));
     }
 
+    // 조회 결과 캐시는 jdbcTemplate 에 설정된 것을 쓴다. 같은 테이블에 쓰는 다른 템플릿과 캐시를 공유해야 한다.
     public UserDao(final JdbcTemplate jdbcTemplate) {
-        this.dataSource = null;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
     }
 
-    public void insert(final User user) {
-        final var sql = "insert into users (account, password, email) values (?, ?, ?)";
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = dataSource.getConnection();
-            pstmt = conn.prepareStatement(sql);
-
-            log.debug("query : {}", sql);
-
-            pstmt.setString(1, user.getAccount());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, user.getEmail());
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            log.error(e.getMessage(), e);
-            throw new RuntimeException(e);
-        } finally {
-            try {
-                if (pstmt != null) {
-                    pstmt.close();
-                }
-            } catch (SQLException ignored) {}
-
-            try {
-                if (conn != null) {
-                    conn.close();
-                }
-            } catch (SQLException ignored) {}
-        }
+    // 생성된 id 를 반환한다.
+    public long insert(final User user) {
+        final var sql = "insert into users (account, password, email) values (:account, :password, :email)";
+        final var keyHolder = new GeneratedKeyHolder();
+        namedParameterJdbcTemplate.update(sql, new BeanPropertySqlParameterSource(user), keyHolder);
+        return keyHolder.getKey();
     }
 
     public void update(final User user) {
-        // todo
+        final var sql = "update users set account = :account, password = :password, email = :email where id = :id";
+        namedParameterJdbcTemplate.update(sql, new BeanPropertySqlParameterSource(user));
     }
 
     public List<User> findAll() {
-        // todo
-        return null;
+        final var sql = "select id, account, password, email from users";
+        return jdbcTemplate.query(sql, USER_ROW_MAPPER);
     }
 
-    public User findById(final Long id) {
-        final var sql = "select id, account, password, email from users where id = ?";
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = dataSource.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setLong(1, id);
-            rs = pstmt.executeQuery();
-
-            log.debug("query : {}", sql);
+    // OFFSET 없이 마지막으로 본 id 다음부터 읽으므로 뒤 페이지로 갈수록 느려지지 않는다. 첫 페이지는 token 에 null 을 넘긴다.
+    public KeysetPage<User> findAll(final int pageSize, final String continuationToken) {
+        return jdbcTemplate.queryForPage(USERS_BY_ID, USER_ROW_MAPPER, pageSize, continuationToken);
+    }
 
-            if (rs.next()) {
-                return new User(
-                        rs.getLong(1),
-                        rs.getString(2),
-                        rs.getString(3),
-                        rs.getString(4));
-            }
-            return null;
-        } catch (SQLException e) {
-            log.error(e.getMessage(), e);
-            throw new RuntimeException(e);
-        } finally {
-            try {
-                if (rs != null) {
-                    rs.close();
-                }
-            } catch (SQLException ignored) {}
+    // 전체 사용자를 한 번에 메모리에 올리지 않는다. 반환된 스트림은 반드시 닫아야 한다.
+    public Stream<User> streamAll() {
+        final var sql = "select id, account, password, email from users";
+        return jdbcTemplate.queryForStream(sql, USER_ROW_MAPPER);
+    }
 
-            try {
-                if (pstmt != null) {
-                    pstmt.close();
-                }
-            } catch (SQLException ignored) {}
+    // 배치 작업에서 전체 id 를 훑을 때 행마다 Long 을 만들지 않는다.
+    public long[] findAllIds() {
+        final var sql = "select id from users order by id";
+        return jdbcTemplate.queryForLongArray(sql);
+    }
 
-            try {
-                if (conn != null) {
-                    conn.close();
-                }
-            } catch (SQLException ignored) {}
-        }
+    public User findById(final Long id) {
+        final var sql = "select id, account, password, email from users where id = :id";
+        return namedParameterJdbcTemplate.queryForObject(sql, new MapSqlParameterSource("id", id), USER_ROW_MAPPER);
     }
 
     public User findByAccount(final String account) {
-        // todo
-        return null;
+        final var sql = "select id, account, password, email from users where account = :account order by id";
+        return namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("account", account), USER_ROW_MAPPER)
+                .stream()
+                .findFirst()
+                .orElse(null);
     }
 }
@@ -1,62 +1,90 @@
 package com.techcourse.dao;
 
 import com.techcourse.domain.UserHistory;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.KeysetPage;
+import org.springframework.jdbc.core.KeysetQuery;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.columnar.ColumnarResult;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.LongLongMap;
 
 import javax.sql.DataSource;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class UserHistoryDao {
 
-    private static final Logger log = LoggerFactory.getLogger(UserHistoryDao.class);
+    private static final RowMapper<UserHistory> USER_HISTORY_ROW_MAPPER = BeanPropertyRowMapper.newInstance(UserHistory.class);
 
-    private final DataSource dataSource;
+    private static final String INSERT_SQL = "insert into user_history (user_id, account, password, email, created_at, created_by) "
+            + "values (:userId, :account, :password, :email, :createdAt, :createBy)";
+
+    // (user_id, id) 인덱스를 타므로 페이지 깊이와 관계없이 한 페이지 비용이 같다.
+    private static final KeysetQuery HISTORY_BY_USER_ID = KeysetQuery
+            .of("select id, user_id, account, password, email, created_at, created_by from user_history", "id")
+            .where("user_id = ?");
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     public UserHistoryDao(final DataSource dataSource) {
-        this.dataSource = dataSource;
+        this(new JdbcTemplate(dataSource));
     }
 
     public UserHistoryDao(final JdbcTemplate jdbcTemplate) {
-        this.dataSource = null;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
     }
 
     public void log(final UserHistory userHistory) {
-        final var sql = "insert into user_history (user_id, account, password, email, created_at, created_by) values (?, ?, ?, ?, ?, ?)";
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = dataSource.getConnection();
-            pstmt = conn.prepareStatement(sql);
-
-            log.debug("query : {}", sql);
-
-            pstmt.setLong(1, userHistory.getUserId());
-            pstmt.setString(2, userHistory.getAccount());
-            pstmt.setString(3, userHistory.getPassword());
-            pstmt.setString(4, userHistory.getEmail());
-            pstmt.setObject(5, userHistory.getCreatedAt());
-            pstmt.setString(6, userHistory.getCreateBy());
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            log.error(e.getMessage(), e);
-            throw new RuntimeException(e);
-        } finally {
-            try {
-                if (pstmt != null) {
-                    pstmt.close();
-                }
-            } catch (SQLException ignored) {}
-
-            try {
-                if (conn != null) {
-                    conn.close();
-                }
-            } catch (SQLException ignored) {}
-        }
+        namedParameterJdbcTemplate.update(INSERT_SQL, new BeanPropertySqlParameterSource(userHistory));
+    }
+
+    public void log(final List<UserHistory> userHistories) {
+        final var batchArgs = userHistories.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    // 사용자 id 별 이력 건수. 박싱 없이 담으므로 사용자가 많아도 가볍다.
+    public LongLongMap countByUserId() {
+        final var sql = "select user_id, count(*) from user_history group by user_id";
+        return namedParameterJdbcTemplate.getJdbcTemplate().queryForLongMap(sql);
+    }
+
+    // 리포트는 필요한 두 컬럼만 컬럼형으로 읽어 UserHistory 객체를 만들지 않는다.
+    private ColumnarResult scanCreatedSince(final LocalDateTime from) {
+        final var sql = "select created_by, created_at from user_history where created_at >= ?";
+        return namedParameterJdbcTemplate.getJdbcTemplate().queryForColumnar(sql, from);
+    }
+
+    public Map<String, Long> countByCreatedBy(final LocalDateTime from) {
+        final var result = scanCreatedSince(from);
+        return result.getStringColumn("created_by").countByValue(result.allRows());
+    }
+
+    // 키는 epoch day 이다. LocalDate.ofEpochDay 로 날짜로 되돌린다.
+    public LongLongMap countByDay(final LocalDateTime from) {
+        final var result = scanCreatedSince(from);
+        final long millisPerDay = TimeUnit.DAYS.toMillis(1);
+        return result.getLongColumn("created_at").countBy(result.allRows(), millis -> Math.floorDiv(millis, millisPerDay));
+    }
+
+    public KeysetPage<UserHistory> findByUserId(final long userId, final int pageSize, final String continuationToken) {
+        return namedParameterJdbcTemplate.getJdbcTemplate()
+                .queryForPage(HISTORY_BY_USER_ID, USER_HISTORY_ROW_MAPPER, pageSize, continuationToken, userId);
+    }
+
+    // 변경 이력은 계속 쌓이므로 목록으로 모으지 않고 스트림으로 읽는다. 반환된 스트림은 반드시 닫아야 한다.
+    public Stream<UserHistory> streamByUserId(final long userId) {
+        final var sql = "select id, user_id, account, password, email, created_at, created_by from user_history where user_id = :userId order by id";
+        return namedParameterJdbcTemplate.queryForStream(sql, new MapSqlParameterSource("userId", userId), USER_HISTORY_ROW_MAPPER);
     }
 }
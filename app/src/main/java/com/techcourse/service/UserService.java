@@ -1,32 +1,89 @@
 package com.techcourse.service;
 
+import com.techcourse.config.DataSourceConfig;
 import com.techcourse.dao.UserDao;
 import com.techcourse.dao.UserHistoryDao;
 import com.techcourse.domain.User;
 import com.techcourse.domain.UserHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.WriteBehindWriter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserDao userDao;
     private final UserHistoryDao userHistoryDao;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindWriter<UserHistory> historyWriter;
 
     public UserService(final UserDao userDao, final UserHistoryDao userHistoryDao) {
+        this(userDao, userHistoryDao, new DataSourceTransactionManager(DataSourceConfig.getInstance()));
+    }
+
+    public UserService(final UserDao userDao, final UserHistoryDao userHistoryDao,
+                       final PlatformTransactionManager transactionManager) {
+        this(userDao, userHistoryDao, transactionManager, null);
+    }
+
+    /**
+     * historyWriter 를 주면 이력은 커밋 뒤에 큐에 넣고 별도 스레드가 모아서 쓴다.
+     * 비밀번호 변경 응답이 이력 insert 를 기다리지 않는 대신, 이력은 변경과 같은 트랜잭션에 묶이지 않는다.
+     */
+    public UserService(final UserDao userDao, final UserHistoryDao userHistoryDao,
+                       final PlatformTransactionManager transactionManager,
+                       final WriteBehindWriter<UserHistory> historyWriter) {
         this.userDao = userDao;
         this.userHistoryDao = userHistoryDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.historyWriter = historyWriter;
     }
 
     public User findById(final long id) {
         return userDao.findById(id);
     }
 
-    public void insert(final User user) {
-        userDao.insert(user);
+    public long insert(final User user) {
+        return userDao.insert(user);
     }
 
+    // 조회, 변경, 이력 기록이 한 커넥션의 한 트랜잭션으로 묶인다.
     public void changePassword(final long id, final String newPassword, final String createBy) {
-        final var user = findById(id);
-        user.changePassword(newPassword);
-        userDao.update(user);
-        userHistoryDao.log(new UserHistory(user, createBy));
+        transactionTemplate.executeWithoutResult(status -> {
+            final var user = findById(id);
+            user.changePassword(newPassword);
+            userDao.update(user);
+            logHistory(new UserHistory(user, createBy));
+        });
+    }
+
+    // 롤백된 변경의 이력이 남지 않도록 커밋된 뒤에만 큐에 넣는다.
+    private void logHistory(final UserHistory userHistory) {
+        if (historyWriter == null) {
+            userHistoryDao.log(userHistory);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueueHistory(userHistory);
+            }
+        });
+    }
+
+    // 변경은 이미 커밋됐으므로 예외를 던지면 안 된다. 거절된 이력은 writer 의 rejectedCount 에 잡히고 여기서는 로그만 남긴다.
+    private void enqueueHistory(final UserHistory userHistory) {
+        try {
+            historyWriter.write(userHistory);
+        } catch (DataAccessException | IllegalStateException e) {
+            log.error("Dropped password change history of user {} : {}", userHistory.getUserId(), e.getMessage());
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.techcourse.support.context;
 
 import com.techcourse.config.DataSourceConfig;
+import com.techcourse.config.UserServiceConfig;
 import com.techcourse.support.jdbc.init.DatabasePopulatorUtils;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
@@ -12,5 +13,12 @@ public class ContextLoaderListener implements ServletContextListener {
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         DatabasePopulatorUtils.execute(DataSourceConfig.getInstance());
+        // 이력 writer 스레드를 요청이 들어오기 전에 띄운다.
+        UserServiceConfig.getInstance();
+    }
+
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        UserServiceConfig.shutdown();
     }
 }
@@ -0,0 +1,267 @@
+package com.techcourse.support.jdbc.init;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.GeneratedKeyHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.cache.QueryResultCache;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 규모 테스트용 사용자와 이력을 만든다. 사용자마다 이력 수는 평균이 historyPerUser 인 파레토 분포를 따라
+ * 소수의 사용자에게 이력이 몰리고, 계정 이름은 대부분 짧지만 일부는 길다.
+ * 난수는 seed 와 사용자 순번으로만 정해지므로 병렬도나 실행 순서와 관계없이 같은 데이터가 나온다.
+ * 다만 id 는 DB 가 매기므로 청크가 들어간 순서에 따라 달라질 수 있다.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_USER = "insert into users (account, password, email) values (?, ?, ?)";
+    private static final String INSERT_HISTORY = "insert into user_history "
+            + "(user_id, account, password, email, created_at, created_by) values (?, ?, ?, ?, ?, ?)";
+
+    private static final int DEFAULT_CHUNK_SIZE = 1_000;
+    private static final int HISTORY_FLUSH_SIZE = 5_000;
+    private static final double PARETO_ALPHA = 1.5;
+    private static final int MAX_HISTORY_MULTIPLIER = 1_000;
+    private static final int HISTORY_DAYS = 365;
+    private static final double LONG_ACCOUNT_RATIO = 0.03;
+    private static final int MAX_ACCOUNT_LENGTH = 100;
+    private static final LocalDateTime DEFAULT_REFERENCE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final long ACCOUNT_STREAM = 0x6A09E667F3BCC909L;
+    private static final long HISTORY_STREAM = 0xBB67AE8584CAA73BL;
+
+    private static final String[] NAMES = {"gugu", "brown", "neo", "pobi", "jason", "crong", "honux", "jk", "ian", "hoy"};
+    private static final String[] DOMAINS = {"gmail.com", "naver.com", "kakao.com", "woowahan.com"};
+    private static final double[] DOMAIN_CUMULATIVE = {0.50, 0.75, 0.85, 0.95};
+    private static final String[] OPERATORS = {"admin", "support1", "support2", "support3"};
+    private static final char[] ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long seed;
+    private int parallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private LocalDateTime referenceTime = DEFAULT_REFERENCE_TIME;
+
+    public SyntheticDataGenerator(final DataSource dataSource, final long seed) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setRewriteBatchedInserts(true);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.seed = seed;
+    }
+
+    /**
+     * 커넥션을 parallelism 개까지 동시에 쓴다. 풀 크기보다 크게 잡으면 작업이 커넥션을 기다린다.
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive. parallelism : " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    // 같은 테이블을 읽는 템플릿과 캐시를 공유하면 넣은 행이 캐시된 조회 결과에 바로 반영된다.
+    public void setQueryResultCache(final QueryResultCache queryResultCache) {
+        jdbcTemplate.setQueryResultCache(queryResultCache);
+    }
+
+    // 사용자 청크 하나와 그 사용자들의 이력이 한 트랜잭션으로 커밋된다.
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive. chunkSize : " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // 이력 시각은 이 시각에서 과거로 최대 1년 사이에 흩어진다. 현재 시각을 쓰지 않아야 실행마다 같은 데이터가 나온다.
+    public void setReferenceTime(final LocalDateTime referenceTime) {
+        this.referenceTime = referenceTime;
+    }
+
+    /**
+     * userCount 명과 사용자당 평균 historyPerUser 건의 이력을 넣고, 넣은 이력 수를 돌려준다.
+     */
+    public long generate(final int userCount, final double historyPerUser) {
+        final long start = System.nanoTime();
+        final var histories = new LongAdder();
+        final var nextChunk = new AtomicInteger();
+        final int chunkCount = (userCount + chunkSize - 1) / chunkSize;
+        final var executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executor.submit(() -> {
+                    int chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+                        final int from = chunk * chunkSize;
+                        final int to = Math.min(userCount, from + chunkSize);
+                        histories.add(insertChunk(from, to, userCount, historyPerUser));
+                    }
+                }));
+            }
+            awaitAll(workers, nextChunk, chunkCount);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Generated {} users and {} histories in {}ms", userCount, histories.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return histories.sum();
+    }
+
+    private void awaitAll(final List<Future<?>> workers, final AtomicInteger nextChunk, final int chunkCount) {
+        try {
+            for (final var worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            // 남은 청크를 다른 작업자가 가져가지 않게 막는다.
+            nextChunk.set(chunkCount);
+            throw new DataAccessException("Failed to generate synthetic data", e.getCause());
+        } catch (InterruptedException e) {
+            nextChunk.set(chunkCount);
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrupted while generating synthetic data", e);
+        }
+    }
+
+    private long insertChunk(final int from, final int to, final int userCount, final double historyPerUser) {
+        final Long inserted = transactionTemplate.execute(status -> {
+            final var users = new ArrayList<Object[]>(to - from);
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                users.add(user(ordinal));
+            }
+            final var keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_USER, users, keyHolder);
+            final long[] userIds = keyHolder.getKeys();
+
+            long count = 0;
+            final var histories = new ArrayList<Object[]>(HISTORY_FLUSH_SIZE);
+            for (int i = 0; i < users.size(); i++) {
+                final int ordinal = from + i;
+                final var random = random(HISTORY_STREAM, ordinal);
+                final int historyCount = historyCount(random, historyPerUser);
+                for (int h = 0; h < historyCount; h++) {
+                    histories.add(history(random, userIds[i], users.get(i), userCount));
+                    if (histories.size() == HISTORY_FLUSH_SIZE) {
+                        count += flushHistories(histories);
+                    }
+                }
+            }
+            return count + flushHistories(histories);
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private long flushHistories(final List<Object[]> histories) {
+        if (histories.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, histories);
+        final int flushed = histories.size();
+        histories.clear();
+        return flushed;
+    }
+
+    private Object[] user(final int ordinal) {
+        final var random = random(ACCOUNT_STREAM, ordinal);
+        final var account = account(random, ordinal);
+        final var password = "password" + random.nextInt(1_000_000);
+        return new Object[]{account, password, email(random, account)};
+    }
+
+    // 순번을 붙여 유일하게 하고, 소수의 계정에는 긴 꼬리를 달아 길이 분포가 한쪽으로 길게 늘어지게 한다.
+    private String account(final SplittableRandom random, final int ordinal) {
+        final var account = new StringBuilder(NAMES[skewedIndex(random, NAMES.length)]).append(ordinal);
+        if (random.nextDouble() < LONG_ACCOUNT_RATIO) {
+            final int tailLength = random.nextInt(20, MAX_ACCOUNT_LENGTH - account.length());
+            account.append('-');
+            for (int i = 0; i < tailLength; i++) {
+                account.append(ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)]);
+            }
+        }
+        return account.toString();
+    }
+
+    private static String email(final SplittableRandom random, final String account) {
+        final double draw = random.nextDouble();
+        final var local = account.length() > 60 ? account.substring(0, 60) : account;
+        for (int i = 0; i < DOMAIN_CUMULATIVE.length; i++) {
+            if (draw < DOMAIN_CUMULATIVE[i]) {
+                return local + "@" + DOMAINS[i];
+            }
+        }
+        return local + "@corp" + random.nextInt(1_000) + ".example";
+    }
+
+    // 평균이 mean 인 파레토 분포. 꼬리가 무거워 일부 사용자는 평균의 수십 배 이력을 가진다.
+    private static int historyCount(final SplittableRandom random, final double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        final double scale = mean * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+        final double sample = scale / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA);
+        return (int) Math.min(Math.round(sample), Math.round(mean * MAX_HISTORY_MULTIPLIER));
+    }
+
+    // 최근일수록 이력이 많도록 제곱으로 치우친 시각. 대부분 본인이 바꾸고 일부는 운영자나 다른 사용자가 바꾼다.
+    private Object[] history(final SplittableRandom random, final long userId, final Object[] user, final int userCount) {
+        final double recency = random.nextDouble();
+        final long secondsAgo = (long) (recency * recency * TimeUnit.DAYS.toSeconds(HISTORY_DAYS));
+        final var createdAt = referenceTime.minusSeconds(secondsAgo);
+        final double actor = random.nextDouble();
+        final String createdBy;
+        if (actor < 0.90) {
+            createdBy = (String) user[0];
+        } else if (actor < 0.98) {
+            createdBy = OPERATORS[skewedIndex(random, OPERATORS.length)];
+        } else {
+            final int other = random.nextInt(userCount);
+            createdBy = account(random(ACCOUNT_STREAM, other), other);
+        }
+        return new Object[]{userId, user[0], user[1], user[2], createdAt, createdBy};
+    }
+
+    // 앞쪽 항목이 더 자주 뽑히는 1/(i+1) 가중치
+    private static int skewedIndex(final SplittableRandom random, final int size) {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / (i + 1);
+        }
+        double draw = random.nextDouble() * total;
+        for (int i = 0; i < size; i++) {
+            draw -= 1.0 / (i + 1);
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return size - 1;
+    }
+
+    private SplittableRandom random(final long stream, final int ordinal) {
+        return new SplittableRandom(mix(seed ^ stream) + ordinal * 0x9E3779B97F4A7C15L);
+    }
+
+    // SplitMix64 의 마무리 단계. 이웃한 seed 끼리도 난수열이 겹치지 않게 섞는다.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
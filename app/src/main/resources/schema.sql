@@ -16,3 +16,5 @@ create table if not exists user_history (
     created_by varchar(100) not null,
     primary key(id)
 );
+
+create index if not exists idx_user_history_user_id on user_history (user_id, id);
@@ -47,9 +47,9 @@ class UserDaoTest {
     void insert() {
         final var account = "insert-gugu";
         final var user = new User(account, "password", "hkkang@woowahan.com");
-        userDao.insert(user);
+        final long id = userDao.insert(user);
 
-        final var actual = userDao.findById(2L);
+        final var actual = userDao.findById(id);
 
         assertThat(actual.getAccount()).isEqualTo(account);
     }
@@ -66,4 +66,20 @@ class UserDaoTest {
 
         assertThat(actual.getPassword()).isEqualTo(newPassword);
     }
+
+    @Test
+    void writeThroughAnotherTemplateInvalidatesSharedCache() {
+        // 스키마 스크립트는 캐시를 거치지 않으므로 이전 테스트의 항목을 비운다.
+        DataSourceConfig.getQueryResultCache().invalidateAll();
+        final var cachingDao = new UserDao(DataSourceConfig.createJdbcTemplate());
+        final var otherWriter = new UserDao(DataSourceConfig.createJdbcTemplate());
+        final long id = otherWriter.insert(new User("cache-gugu", "password", "hkkang@woowahan.com"));
+        final var user = cachingDao.findById(id);
+        assertThat(cachingDao.findById(id).getPassword()).isEqualTo("password");
+
+        user.changePassword("changed-elsewhere");
+        otherWriter.update(user);
+
+        assertThat(cachingDao.findById(id).getPassword()).isEqualTo("changed-elsewhere");
+    }
 }
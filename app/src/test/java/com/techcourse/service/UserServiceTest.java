@@ -1,20 +1,22 @@
 package com.techcourse.service;
 
 import com.techcourse.config.DataSourceConfig;
+import com.techcourse.config.UserServiceConfig;
 import com.techcourse.dao.UserDao;
 import com.techcourse.dao.UserHistoryDao;
 import com.techcourse.domain.User;
+import com.techcourse.domain.UserHistory;
 import com.techcourse.support.jdbc.init.DatabasePopulatorUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.WriteBehindWriter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-@Disabled
 class UserServiceTest {
 
     private JdbcTemplate jdbcTemplate;
@@ -60,4 +62,31 @@ class UserServiceTest {
 
         assertThat(actual.getPassword()).isNotEqualTo(newPassword);
     }
+
+    @Test
+    void changePasswordThroughHistoryWriter() {
+        final long id = userDao.insert(new User("writer-gugu", "password", "hkkang@woowahan.com"));
+        final var userService = UserServiceConfig.getInstance();
+
+        userService.changePassword(id, "written-behind", "gugu");
+        // 남은 이력을 모두 쓴 뒤에 돌아온다.
+        UserServiceConfig.shutdown();
+
+        assertThat(userService.findById(id).getPassword()).isEqualTo("written-behind");
+        assertThat(new UserHistoryDao(jdbcTemplate).countByUserId().get(id, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedHistoryDoesNotFailCommittedChange() {
+        final long id = userDao.insert(new User("rejected-gugu", "password", "hkkang@woowahan.com"));
+        final var writer = new WriteBehindWriter<UserHistory>("test-history-writer", 8, histories -> {});
+        writer.close();
+        final var userService = new UserService(userDao, new UserHistoryDao(jdbcTemplate),
+                new DataSourceTransactionManager(DataSourceConfig.getInstance()), writer);
+
+        userService.changePassword(id, "committed", "gugu");
+
+        assertThat(userService.findById(id).getPassword()).isEqualTo("committed");
+        assertThat(writer.getRejectedCount()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,64 @@
+package com.techcourse.support.jdbc.init;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataGeneratorTest {
+
+    private static final String HISTORY_BY_ACCOUNT = "select u.account, u.email, count(h.id) from users u "
+            + "left join user_history h on h.user_id = u.id group by u.account, u.email order by u.account";
+
+    @Test
+    void generateUsersAndHistories() {
+        final var dataSource = dataSource("synthetic_count");
+        final var generator = new SyntheticDataGenerator(dataSource, 42L);
+        generator.setChunkSize(100);
+
+        final long histories = generator.generate(1_000, 5);
+
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForLongArray("select count(*) from users")).containsExactly(1_000L);
+        assertThat(jdbcTemplate.queryForLongArray("select count(*) from user_history")).containsExactly(histories);
+        assertThat(jdbcTemplate.queryForLongArray(
+                "select count(*) from user_history h join users u on u.id = h.user_id")).containsExactly(histories);
+    }
+
+    @Test
+    void sameSeedGeneratesSameRowsRegardlessOfParallelism() {
+        final var serial = dataSource("synthetic_serial");
+        final var serialGenerator = new SyntheticDataGenerator(serial, 7L);
+        serialGenerator.setParallelism(1);
+        serialGenerator.generate(500, 3);
+
+        final var parallel = dataSource("synthetic_parallel");
+        final var parallelGenerator = new SyntheticDataGenerator(parallel, 7L);
+        parallelGenerator.setParallelism(4);
+        parallelGenerator.setChunkSize(50);
+        parallelGenerator.generate(500, 3);
+
+        assertThat(summary(parallel)).isEqualTo(summary(serial));
+    }
+
+    private static String summary(final DataSource dataSource) {
+        final var summary = new StringBuilder();
+        new JdbcTemplate(dataSource).query(HISTORY_BY_ACCOUNT, rs -> {
+            summary.append(rs.getString(1)).append(',').append(rs.getString(2)).append(',').append(rs.getLong(3)).append('\n');
+        });
+        return summary.toString();
+    }
+
+    private static DataSource dataSource(final String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;");
+        dataSource.setUser("");
+        dataSource.setPassword("");
+        new ResourceDatabasePopulator("schema.sql").execute(dataSource);
+        return dataSource;
+    }
+}
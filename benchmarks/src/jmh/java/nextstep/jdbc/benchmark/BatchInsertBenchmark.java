@@ -0,0 +1,68 @@
+package nextstep.jdbc.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 행짜리 INSERT 를 addBatch 로 실행할 때와 여러 행 INSERT 로 바꿔 실행할 때의 적재 시간을 비교한다.
+ * 매 호출 전에 테이블을 비워 같은 양을 적재한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchInsertBenchmark {
+
+    private static final String INSERT_USER = "insert into users (account, password, email) values (?, ?, ?)";
+
+    @Param({"10000"})
+    private int rows;
+
+    private JdbcTemplate plainTemplate;
+    private JdbcTemplate rewritingTemplate;
+    private List<Object[]> batchArgs;
+
+    @Setup
+    public void setUp() {
+        final var dataSource = new JdbcDataSource();
+        // 스레드를 늘려 돌릴 때 서로의 truncate 가 섞이지 않도록 스레드마다 DB 를 따로 둔다.
+        dataSource.setUrl("jdbc:h2:mem:batch-insert-benchmark-" + Thread.currentThread().getId() + ";DB_CLOSE_DELAY=-1;");
+        plainTemplate = new JdbcTemplate(dataSource);
+        plainTemplate.update("drop table if exists users");
+        plainTemplate.update("create table users (id bigint auto_increment, account varchar(100) not null, "
+                + "password varchar(100) not null, email varchar(100) not null, primary key(id))");
+        rewritingTemplate = new JdbcTemplate(dataSource);
+        rewritingTemplate.setRewriteBatchedInserts(true);
+        batchArgs = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batchArgs.add(new Object[]{"account" + i, "password" + i, "user" + i + "@woowahan.com"});
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        plainTemplate.update("truncate table users");
+    }
+
+    @Benchmark
+    public int[] addBatch() {
+        return plainTemplate.batchUpdate(INSERT_USER, batchArgs);
+    }
+
+    @Benchmark
+    public int[] multiRowInsert() {
+        return rewritingTemplate.batchUpdate(INSERT_USER, batchArgs);
+    }
+}
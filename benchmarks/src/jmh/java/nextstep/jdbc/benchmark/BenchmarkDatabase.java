@@ -0,0 +1,35 @@
+package nextstep.jdbc.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.PooledDataSource;
+
+import java.util.ArrayList;
+
+/**
+ * 벤치마크가 함께 쓰는 메모리 H2 와 커넥션 풀. 풀은 스레드 수를 모두 늘려도 커넥션을 기다리지 않을 만큼 잡는다.
+ */
+final class BenchmarkDatabase {
+
+    static final int USER_COUNT = 1_000;
+
+    private BenchmarkDatabase() {}
+
+    static PooledDataSource createPooledDataSource(final String name) {
+        final var jdbcDataSource = new JdbcDataSource();
+        jdbcDataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;");
+        final int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        return new PooledDataSource(jdbcDataSource, poolSize, poolSize);
+    }
+
+    static void createUsers(final JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("drop table if exists users");
+        jdbcTemplate.update("create table users (id bigint auto_increment, account varchar(100) not null, "
+                + "password varchar(100) not null, email varchar(100) not null, primary key(id))");
+        final var batchArgs = new ArrayList<Object[]>(USER_COUNT);
+        for (int i = 1; i <= USER_COUNT; i++) {
+            batchArgs.add(new Object[]{"account" + i, "password" + i, "user" + i + "@woowahan.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (account, password, email) values (?, ?, ?)", batchArgs);
+    }
+}
@@ -0,0 +1,75 @@
+package nextstep.jdbc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.PooledDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSourceUtils.getConnection/releaseConnection 한 쌍의 비용. 트랜잭션 밖에서는 매번 풀에서 빌리고 돌려주고,
+ * 트랜잭션 안에서는 스레드에 묶인 커넥션을 찾기만 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConnectionAcquisitionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        private PooledDataSource dataSource;
+
+        @Setup
+        public void setUp() {
+            dataSource = BenchmarkDatabase.createPooledDataSource("connection-acquisition-benchmark");
+        }
+
+        @TearDown
+        public void tearDown() {
+            dataSource.close();
+        }
+    }
+
+    // Scope.Thread 상태의 Setup 은 그 상태를 쓰는 벤치마크 스레드에서 실행되므로, 바인딩도 그 스레드에 걸린다.
+    @State(Scope.Thread)
+    public static class BoundTransaction {
+
+        private Connection connection;
+
+        @Setup
+        public void setUp(final Pool pool) throws SQLException {
+            connection = pool.dataSource.getConnection();
+            TransactionSynchronizationManager.bindResource(pool.dataSource, connection);
+        }
+
+        @TearDown
+        public void tearDown(final Pool pool) throws SQLException {
+            TransactionSynchronizationManager.unbindResource(pool.dataSource);
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Connection withoutTransaction(final Pool pool) {
+        final var connection = DataSourceUtils.getConnection(pool.dataSource);
+        DataSourceUtils.releaseConnection(connection, pool.dataSource);
+        return connection;
+    }
+
+    @Benchmark
+    public Connection withBoundTransaction(final Pool pool, final BoundTransaction transaction) {
+        final var connection = DataSourceUtils.getConnection(pool.dataSource);
+        DataSourceUtils.releaseConnection(connection, pool.dataSource);
+        return connection;
+    }
+}
@@ -0,0 +1,131 @@
+package nextstep.jdbc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.PooledDataSource;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 단건 조회를 JDBC API 로 직접 작성했을 때와 JdbcTemplate, NamedParameterJdbcTemplate 을 거칠 때를 비교한다.
+ * 세 경우 모두 같은 커넥션 풀을 쓰므로 차이는 템플릿 자체의 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JdbcTemplateBenchmark {
+
+    private static final String FIND_BY_ID = "select id, account, password, email from users where id = ?";
+    private static final String NAMED_FIND_BY_ID = "select id, account, password, email from users where id = :id";
+    private static final String UPDATE_PASSWORD = "update users set password = ? where id = ?";
+
+    private static final RowMapper<User> HAND_WRITTEN = (rs, rowNum) -> new User(
+            rs.getLong("id"),
+            rs.getString("account"),
+            rs.getString("password"),
+            rs.getString("email"));
+
+    private PooledDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private RowMapper<User> beanPropertyRowMapper;
+
+    @Setup
+    public void setUp() {
+        dataSource = BenchmarkDatabase.createPooledDataSource("jdbc-template-benchmark");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        beanPropertyRowMapper = BeanPropertyRowMapper.newInstance(User.class);
+        BenchmarkDatabase.createUsers(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    // 템플릿을 쓰기 전 UserDao.findById 가 하던 방식
+    @Benchmark
+    public User rawJdbcFindById() throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(FIND_BY_ID)) {
+            pstmt.setLong(1, randomId());
+            try (final var rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return HAND_WRITTEN.mapRow(rs, 0);
+                }
+                return null;
+            }
+        }
+    }
+
+    @Benchmark
+    public User jdbcTemplateFindById() {
+        return jdbcTemplate.queryForObject(FIND_BY_ID, HAND_WRITTEN, randomId());
+    }
+
+    @Benchmark
+    public User jdbcTemplateFindByIdWithBeanPropertyRowMapper() {
+        return jdbcTemplate.queryForObject(FIND_BY_ID, beanPropertyRowMapper, randomId());
+    }
+
+    // 지금의 UserDao.findById 경로
+    @Benchmark
+    public User namedParameterFindById() {
+        return namedParameterJdbcTemplate.queryForObject(
+                NAMED_FIND_BY_ID, new MapSqlParameterSource("id", randomId()), beanPropertyRowMapper);
+    }
+
+    @Benchmark
+    public int rawJdbcUpdate() throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(UPDATE_PASSWORD)) {
+            final long id = randomId();
+            pstmt.setString(1, "password" + id);
+            pstmt.setLong(2, id);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public int jdbcTemplateUpdate() {
+        final long id = randomId();
+        return jdbcTemplate.update(UPDATE_PASSWORD, "password" + id, id);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, BenchmarkDatabase.USER_COUNT + 1);
+    }
+
+    public static class User {
+
+        private final long id;
+        private final String account;
+        private final String password;
+        private final String email;
+
+        public User(final long id, final String account, final String password, final String email) {
+            this.id = id;
+            this.account = account;
+            this.password = password;
+            this.email = email;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package nextstep.jdbc.benchmark;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.BindableRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 손으로 작성한 매핑과 BeanPropertyRowMapper 의 행당 비용을 비교한다.
+ * DB 비용을 빼기 위해 메모리에 올린 H2 SimpleResultSet 을 매번 처음부터 다시 읽고,
+ * JdbcTemplate 처럼 한 번 읽을 때마다 bind 를 한 번 부른다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMapperBenchmark {
+
+    private static final String SQL = "select id, account, password, email from users";
+    private static final RowMapper<ConstructorUser> HAND_WRITTEN = (rs, rowNum) -> new ConstructorUser(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4));
+
+    @Param({"1000"})
+    private int rows;
+
+    private SimpleResultSet resultSet;
+    private RowMapper<ConstructorUser> constructorMapper;
+    private RowMapper<SetterUser> setterMapper;
+
+    @Setup
+    public void setUp() {
+        resultSet = new SimpleResultSet();
+        resultSet.setAutoClose(false);
+        resultSet.addColumn("ID", Types.BIGINT, 19, 0);
+        resultSet.addColumn("ACCOUNT", Types.VARCHAR, 100, 0);
+        resultSet.addColumn("PASSWORD", Types.VARCHAR, 100, 0);
+        resultSet.addColumn("EMAIL", Types.VARCHAR, 100, 0);
+        for (long i = 1; i <= rows; i++) {
+            resultSet.addRow(i, "account" + i, "password" + i, "user" + i + "@woowahan.com");
+        }
+        constructorMapper = BeanPropertyRowMapper.newInstance(ConstructorUser.class);
+        setterMapper = BeanPropertyRowMapper.newInstance(SetterUser.class);
+    }
+
+    @Benchmark
+    public void handWritten(final Blackhole blackhole) throws SQLException {
+        map(HAND_WRITTEN, blackhole);
+    }
+
+    @Benchmark
+    public void beanPropertyConstructor(final Blackhole blackhole) throws SQLException {
+        map(constructorMapper, blackhole);
+    }
+
+    @Benchmark
+    public void beanPropertySetter(final Blackhole blackhole) throws SQLException {
+        map(setterMapper, blackhole);
+    }
+
+    private <T> void map(final RowMapper<T> rowMapper, final Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        final var mapper = BindableRowMapper.resolve(rowMapper, SQL, resultSet);
+        int rowNum = 0;
+        while (resultSet.next()) {
+            blackhole.consume(mapper.mapRow(resultSet, rowNum++));
+        }
+    }
+
+    public static class ConstructorUser {
+
+        private final long id;
+        private final String account;
+        private final String password;
+        private final String email;
+
+        public ConstructorUser(final long id, final String account, final String password, final String email) {
+            this.id = id;
+            this.account = account;
+            this.password = password;
+            this.email = email;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    public static class SetterUser {
+
+        private long id;
+        private String account;
+        private String password;
+        private String email;
+
+        public void setId(final long id) {
+            this.id = id;
+        }
+
+        public void setAccount(final String account) {
+            this.account = account;
+        }
+
+        public void setPassword(final String password) {
+            this.password = password;
+        }
+
+        public void setEmail(final String email) {
+            this.email = email;
+        }
+    }
+}
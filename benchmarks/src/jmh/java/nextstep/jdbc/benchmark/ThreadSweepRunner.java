@@ -0,0 +1,46 @@
+package nextstep.jdbc.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 벤치마크를 스레드 1, 2, 4 ... 코어 수로 늘려 가며 실행한다. 풀 경합이나 락 경합은 스레드가 늘어야 드러나므로
+ * 변경 전후를 비교할 때는 단일 스레드 숫자만 보지 않는다. 결과는 스레드 수마다 threads-N.json 으로 남는다.
+ */
+public class ThreadSweepRunner {
+
+    public static void main(final String[] args) throws RunnerException {
+        final var include = args.length > 0 ? args[0] : "nextstep\\.";
+        final var resultDirectory = new File(args.length > 1 ? args[1] : "build/results/jmh");
+        resultDirectory.mkdirs();
+        for (final int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+            final var options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .measurementIterations(5)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultDirectory, "threads-" + threads + ".json").getPath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    static List<Integer> threadCounts(final int cores) {
+        final var threadCounts = new ArrayList<Integer>();
+        for (int threads = 1; threads < cores; threads <<= 1) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+        return threadCounts;
+    }
+}
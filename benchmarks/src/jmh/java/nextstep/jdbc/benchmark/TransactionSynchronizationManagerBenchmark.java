@@ -0,0 +1,112 @@
+package nextstep.jdbc.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배열 기반 TransactionSynchronizationManager 와 ThreadLocal&lt;Map&gt; 설계의 리소스 바인딩 비용을 비교한다.
+ * 트랜잭션 하나가 커넥션을 묶고, 문장 4개가 커넥션을 찾고, 커넥션을 푸는 흐름을 한 번의 연산으로 본다.
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionSynchronizationManagerBenchmark {
+
+    private static final int LOOKUPS_PER_TRANSACTION = 4;
+
+    private DataSource dataSource;
+    private Connection connection;
+
+    @Setup
+    public void setUp() {
+        dataSource = new JdbcDataSource();
+        connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> null);
+    }
+
+    @Benchmark
+    public void arrayBacked(final Blackhole blackhole) {
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+        for (int i = 0; i < LOOKUPS_PER_TRANSACTION; i++) {
+            blackhole.consume(TransactionSynchronizationManager.getResource(dataSource));
+        }
+        blackhole.consume(TransactionSynchronizationManager.unbindResource(dataSource));
+    }
+
+    @Benchmark
+    public void threadLocalMap(final Blackhole blackhole) {
+        ThreadLocalMapResources.bindResource(dataSource, connection);
+        for (int i = 0; i < LOOKUPS_PER_TRANSACTION; i++) {
+            blackhole.consume(ThreadLocalMapResources.getResource(dataSource));
+        }
+        blackhole.consume(ThreadLocalMapResources.unbindResource(dataSource));
+    }
+
+    // 트랜잭션 밖에서 DataSourceUtils.getConnection 이 매번 거치는 경로
+    @Benchmark
+    public Connection arrayBackedUnbound() {
+        return TransactionSynchronizationManager.getResource(dataSource);
+    }
+
+    @Benchmark
+    public Connection threadLocalMapUnbound() {
+        return ThreadLocalMapResources.getResource(dataSource);
+    }
+
+    /**
+     * 비교 대상. 스레드마다 HashMap 을 두고, 비면 ThreadLocal 에서 지운다.
+     */
+    private static final class ThreadLocalMapResources {
+
+        private static final ThreadLocal<Map<DataSource, Connection>> resources = new ThreadLocal<>();
+
+        private static Connection getResource(final DataSource key) {
+            final var map = resources.get();
+            if (map == null) {
+                return null;
+            }
+            return map.get(key);
+        }
+
+        private static void bindResource(final DataSource key, final Connection value) {
+            var map = resources.get();
+            if (map == null) {
+                map = new HashMap<>();
+                resources.set(map);
+            }
+            if (map.put(key, value) != null) {
+                throw new IllegalStateException("Already value bound for key [" + key + "]");
+            }
+        }
+
+        private static Connection unbindResource(final DataSource key) {
+            final var map = resources.get();
+            if (map == null) {
+                return null;
+            }
+            final var value = map.remove(key);
+            if (map.isEmpty()) {
+                resources.remove();
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package nextstep.mvc.benchmark;
+
+import com.techcourse.ManualHandlerMapping;
+import com.techcourse.domain.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import webmvc.org.springframework.web.servlet.ModelAndView;
+import webmvc.org.springframework.web.servlet.mvc.HandlerAdapter;
+import webmvc.org.springframework.web.servlet.mvc.HandlerAdapterRegistry;
+import webmvc.org.springframework.web.servlet.mvc.HandlerMappingRegistry;
+import webmvc.org.springframework.web.servlet.mvc.asis.ControllerHandlerAdapter;
+import webmvc.org.springframework.web.servlet.mvc.tobe.AnnotationHandlerMapping;
+import webmvc.org.springframework.web.servlet.mvc.tobe.HandlerExecution;
+import webmvc.org.springframework.web.servlet.mvc.tobe.HandlerExecutionHandlerAdapter;
+import webmvc.org.springframework.web.servlet.view.JsonView;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DispatcherServlet 이 요청마다 거치는 단계를 하나씩 잰다. 매핑과 어댑터는 앱과 같은 순서로 등록한다.
+ * 요청당 생기는 garbage 는 -prof gc 의 gc.alloc.rate.norm 으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DispatchBenchmark {
+
+    private HandlerMappingRegistry handlerMappingRegistry;
+    private HandlerAdapterRegistry handlerAdapterRegistry;
+
+    // ManualHandlerMapping 이 먼저 등록되어 있어 어노테이션 매핑 요청은 수동 매핑을 한 번 거친 뒤에 찾는다.
+    private HttpServletRequest manualRequest;
+    private HttpServletRequest annotationRequest;
+    private HttpServletRequest unmappedRequest;
+    private HttpServletResponse response;
+
+    private Object manualHandler;
+    private Object annotationHandler;
+    private BenchmarkController controller;
+    private HandlerExecution handlerExecution;
+
+    private JsonView jsonView;
+    private Map<String, Object> singleModel;
+    private Map<String, Object> multiModel;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handlerMappingRegistry = new HandlerMappingRegistry();
+        handlerMappingRegistry.addHandlerMapping(new ManualHandlerMapping());
+        handlerMappingRegistry.addHandlerMapping(new AnnotationHandlerMapping("com.techcourse.controller"));
+        handlerAdapterRegistry = new HandlerAdapterRegistry();
+        handlerAdapterRegistry.addHandlerAdapter(new ControllerHandlerAdapter());
+        handlerAdapterRegistry.addHandlerAdapter(new HandlerExecutionHandlerAdapter());
+
+        manualRequest = MockServlet.request("GET", "/logout", Map.of());
+        annotationRequest = MockServlet.request("GET", "/api/user", Map.of("account", "gugu"));
+        unmappedRequest = MockServlet.request("GET", "/not-found", Map.of());
+        response = MockServlet.response();
+
+        manualHandler = handlerMappingRegistry.getHandler(manualRequest).orElseThrow();
+        annotationHandler = handlerMappingRegistry.getHandler(annotationRequest).orElseThrow();
+        controller = new BenchmarkController();
+        handlerExecution = new HandlerExecution(controller, BenchmarkController.class.getMethod(
+                "show", HttpServletRequest.class, HttpServletResponse.class));
+
+        jsonView = new JsonView();
+        final var user = new User(1L, "gugu", "password", "hkkang@woowahan.com");
+        singleModel = Map.of("user", user);
+        multiModel = Map.of("user", user, "count", 1, "message", "ok");
+    }
+
+    @Benchmark
+    public Optional<Object> getHandlerManual() {
+        return handlerMappingRegistry.getHandler(manualRequest);
+    }
+
+    @Benchmark
+    public Optional<Object> getHandlerAnnotation() {
+        return handlerMappingRegistry.getHandler(annotationRequest);
+    }
+
+    @Benchmark
+    public Optional<Object> getHandlerUnmapped() {
+        return handlerMappingRegistry.getHandler(unmappedRequest);
+    }
+
+    @Benchmark
+    public HandlerAdapter getHandlerAdapterForController() {
+        return handlerAdapterRegistry.getHandlerAdapter(manualHandler);
+    }
+
+    @Benchmark
+    public HandlerAdapter getHandlerAdapterForHandlerExecution() {
+        return handlerAdapterRegistry.getHandlerAdapter(annotationHandler);
+    }
+
+    // 같은 메서드를 직접 부를 때와 비교해 Method.invoke 의 비용만 떼어 본다.
+    @Benchmark
+    public ModelAndView handlerExecutionHandle() {
+        return handlerExecution.handle(annotationRequest, response);
+    }
+
+    @Benchmark
+    public ModelAndView directInvocation() {
+        return controller.show(annotationRequest, response);
+    }
+
+    @Benchmark
+    public void jsonViewRenderSingleObject() throws Exception {
+        jsonView.render(singleModel, annotationRequest, response);
+    }
+
+    @Benchmark
+    public void jsonViewRenderModel() throws Exception {
+        jsonView.render(multiModel, annotationRequest, response);
+    }
+
+    public static class BenchmarkController {
+
+        private static final ModelAndView MODEL_AND_VIEW = new ModelAndView(new JsonView());
+
+        public ModelAndView show(final HttpServletRequest request, final HttpServletResponse response) {
+            return MODEL_AND_VIEW;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package nextstep.mvc.benchmark;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * 디스패치 경로가 실제로 부르는 메서드만 답하는 요청/응답. 서블릿 컨테이너 없이 프레임워크 비용만 재기 위해 쓴다.
+ * 나머지 메서드는 기본값을 돌려준다.
+ */
+final class MockServlet {
+
+    private MockServlet() {}
+
+    static HttpServletRequest request(final String method, final String requestUri, final Map<String, String> parameters) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                        case "getMethod":
+                            return method;
+                        case "getRequestURI":
+                            return requestUri;
+                        case "getParameter":
+                            return parameters.get((String) args[0]);
+                        default:
+                            return defaultValue(invoked.getReturnType());
+                    }
+                });
+    }
+
+    // 본문은 버리므로 직렬화 비용만 남는다.
+    static HttpServletResponse response() {
+        final var outputStream = new NullServletOutputStream();
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                HttpServletResponse.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, invoked, args) -> {
+                    if ("getOutputStream".equals(invoked.getName())) {
+                        return outputStream;
+                    }
+                    return defaultValue(invoked.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static final class NullServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package nextstep.loadtest;
+
+import com.techcourse.Application;
+import com.techcourse.config.DataSourceConfig;
+import com.techcourse.support.jdbc.init.SyntheticDataGenerator;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 앱의 내장 Tomcat 을 빈 포트로 띄우고, 로그인/회원가입/API/정적 리소스와 DB 조회/변경을 섞은 요청을 고정 도착률로 보낸다.
+ * 워밍업 구간의 결과는 버리고 측정 구간만 보고서에 남긴다.
+ *
+ * 부하를 걸기 전에 --users 명의 합성 사용자와 이력을 넣는다. DB 시나리오는 이 사용자들의 id 를 돌아가며 쓴다.
+ * 앱에는 DB 를 거치는 라우트가 없으므로 DB 시나리오는 부하 테스트에만 있는 {@link LoadTestUserServlet} 으로 보낸다.
+ *
+ * 인자 : --rate=500 --duration=60 --warmup=15 --max-in-flight=2000 --report-dir=benchmarks/build/reports/loadtest
+ *        --users=100000 --history-per-user=10 --seed=42
+ */
+public class LoadTest {
+
+    public static void main(final String[] args) throws Exception {
+        final var options = parseOptions(args);
+        final int rate = Integer.parseInt(options.getOrDefault("rate", "500"));
+        final var duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        final var warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        final int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        final var reportDirectory = Path.of(options.getOrDefault("report-dir", "benchmarks/build/reports/loadtest"));
+
+        final int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        if (users < 1) {
+            throw new IllegalArgumentException("users must be positive. users : " + users);
+        }
+
+        final var tomcat = Application.start(0);
+        LoadTestUserServlet.register(tomcat);
+        final var dataGenerator = new SyntheticDataGenerator(DataSourceConfig.getInstance(),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        dataGenerator.setQueryResultCache(DataSourceConfig.getQueryResultCache());
+        dataGenerator.generate(users, Double.parseDouble(options.getOrDefault("history-per-user", "10")));
+        final ExecutorService callbackExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            final var baseUri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/");
+            final var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .executor(callbackExecutor)
+                    .build();
+            final var generator = new OpenModelLoadGenerator(client, baseUri, scenarios(users), rate, maxInFlight);
+
+            generator.run(warmup);
+            generator.reset();
+            generator.run(duration);
+
+            final var report = new LoadTestReport(generator, duration);
+            report.print();
+            System.out.println("report written to " + report.write(reportDirectory).toAbsolutePath());
+        } finally {
+            callbackExecutor.shutdownNow();
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    // 로그인 폼이 JSP 렌더링, 로그인/가입이 세션과 리다이렉트, /api/user 가 JSON 직렬화 경로를 탄다.
+    // db-user 와 change-password 는 LoadTestUserServlet 을 통해 커넥션 풀, 조회 결과 캐시, 트랜잭션, 이력 write-behind 를 거친다.
+    // 합성 사용자는 빈 DB 에 들어가므로 id 가 1 부터 users 까지다.
+    private static List<Scenario> scenarios(final int users) {
+        return List.of(
+                Scenario.get("api-user", 4, "api/user?account=gugu"),
+                Scenario.get("db-user", 3, sequence -> "loadtest/users?id=" + (sequence % users + 1)),
+                Scenario.postForm("change-password", 1, 204, "loadtest/users",
+                        sequence -> "id=" + (sequence * 7 % users + 1) + "&password=changed" + sequence),
+                Scenario.get("login-form", 2, "login"),
+                Scenario.postForm("login", 2, "login", sequence -> "account=gugu&password=password"),
+                Scenario.postForm("register", 1, "register",
+                        sequence -> "account=load" + sequence + "&password=password&email=load" + sequence + "%40woowahan.com"),
+                Scenario.get("static-css", 2, "css/styles.css"),
+                Scenario.get("static-js", 1, "js/scripts.js"),
+                Scenario.get("static-html", 1, "index.html"));
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final var options = new HashMap<String, String>();
+        for (final var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must look like --name=value. option : " + arg);
+            }
+            final int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
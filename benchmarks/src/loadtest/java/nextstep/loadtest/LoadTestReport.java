@@ -0,0 +1,75 @@
+package nextstep.loadtest;
+
+import org.springframework.jdbc.support.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 시나리오별 처리량과 p50/p99/p999 지연을 표로 출력하고, 릴리스끼리 비교할 수 있게 CSV 로도 남긴다.
+ */
+final class LoadTestReport {
+
+    private static final String HEADER = "scenario,requests,errors,dropped,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final List<String> rows = new ArrayList<>();
+    private final String summary;
+
+    LoadTestReport(final OpenModelLoadGenerator generator, final Duration duration) {
+        final double seconds = duration.toMillis() / 1000.0;
+        long dropped = 0;
+        long errors = 0;
+        for (final var scenario : generator.getScenarios()) {
+            rows.add(row(scenario.getName(), scenario.getLatency(), scenario.getErrors(), scenario.getDropped(), seconds));
+            dropped += scenario.getDropped();
+            errors += scenario.getErrors();
+        }
+        rows.add(row("total", generator.getTotalLatency(), errors, dropped, seconds));
+        final var summary = String.format(Locale.ROOT, "target rate %d rps, duration %ds, max schedule lag %.3fms",
+                generator.getRatePerSecond(), duration.toSeconds(), generator.getMaxScheduleLagMicros() / 1000.0);
+        this.summary = dropped == 0 ? summary
+                : summary + ", " + dropped + " requests over max-in-flight counted as errors at the drain timeout";
+    }
+
+    private static String row(final String name, final LatencyHistogram.Snapshot latency, final long errors,
+                              final long dropped, final double seconds) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f",
+                name, latency.getCount(), errors, dropped, latency.getCount() / seconds,
+                millis(latency.getP50Micros()), millis(latency.getP99Micros()),
+                millis(latency.getP999Micros()), millis(latency.getMaxMicros()));
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+    void print() {
+        System.out.println(summary);
+        System.out.println(String.format(Locale.ROOT, "%-16s %10s %8s %8s %12s %10s %10s %10s %10s",
+                (Object[]) HEADER.split(",")));
+        for (final var row : rows) {
+            System.out.println(String.format(Locale.ROOT, "%-16s %10s %8s %8s %12s %10s %10s %10s %10s",
+                    (Object[]) row.split(",")));
+        }
+    }
+
+    Path write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final var file = directory.resolve("loadtest-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+        final var lines = new ArrayList<String>();
+        lines.add("# " + summary);
+        lines.add(HEADER);
+        lines.addAll(rows);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+}
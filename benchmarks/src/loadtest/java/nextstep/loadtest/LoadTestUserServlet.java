@@ -0,0 +1,73 @@
+package nextstep.loadtest;
+
+import com.techcourse.config.UserServiceConfig;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.IOException;
+
+/**
+ * 부하 테스트에서만 띄우는 DB 경로용 서블릿. 앱에는 DB 를 거치는 라우트가 없어서,
+ * 조회는 커넥션 풀과 조회 결과 캐시를, 비밀번호 변경은 트랜잭션과 이력 write-behind 를 타게 한다.
+ * 앱 빌드에는 들어가지 않으므로 인증 없이 열어 둔다.
+ */
+final class LoadTestUserServlet extends HttpServlet {
+
+    static final String PATH = "/loadtest/users";
+
+    private static final String CREATED_BY = "loadtest";
+
+    static void register(final Tomcat tomcat) {
+        final var context = (Context) tomcat.getHost().findChild("");
+        Tomcat.addServlet(context, "loadTestUserServlet", new LoadTestUserServlet());
+        context.addServletMappingDecoded(PATH, "loadTestUserServlet");
+    }
+
+    // 응답에는 계정만 싣는다.
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final var id = parseId(request, response);
+        if (id == null) {
+            return;
+        }
+        final var user = UserServiceConfig.getInstance().findById(id);
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(user.getAccount());
+    }
+
+    @Override
+    protected void doPost(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final var id = parseId(request, response);
+        if (id == null) {
+            return;
+        }
+        final var password = request.getParameter("password");
+        if (password == null || password.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        final var userService = UserServiceConfig.getInstance();
+        if (userService.findById(id) == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        userService.changePassword(id, password, CREATED_BY);
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    private static Long parseId(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        try {
+            return Long.valueOf(request.getParameter("id"));
+        } catch (final NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return null;
+        }
+    }
+}
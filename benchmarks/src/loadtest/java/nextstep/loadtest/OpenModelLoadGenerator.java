@@ -0,0 +1,135 @@
+package nextstep.loadtest;
+
+import org.springframework.jdbc.support.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 응답을 기다리지 않고 정해진 도착률로 요청을 보내는 열린 모델 부하 생성기.
+ * i 번째 요청은 시작 시각 + i * 간격에 보내기로 예정되고, 지연은 그 예정 시각부터 잰다.
+ * 서버가 느려져도 다음 요청을 미루지 않으므로 coordinated omission 이 생기지 않는다.
+ * 동시 요청 한도에 걸려 보내지 못한 요청은 버리지 않고 drain 대기 시간만큼 걸린 실패로 기록한다.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+    private static final long DROPPED_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<Scenario> scenarios;
+    private final Scenario[] schedule;
+    private final int ratePerSecond;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+
+    private volatile long maxScheduleLagNanos;
+
+    OpenModelLoadGenerator(final HttpClient client, final URI baseUri, final List<Scenario> scenarios,
+                           final int ratePerSecond, final int maxInFlight) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.scenarios = scenarios;
+        this.schedule = weightedSchedule(scenarios);
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // 가중치만큼 섞어 둔 순서를 돌아가며 쓴다. 난수를 쓰지 않으므로 실행마다 같은 요청 순서가 나온다.
+    private static Scenario[] weightedSchedule(final List<Scenario> scenarios) {
+        final var schedule = new ArrayList<Scenario>();
+        int maxWeight = 0;
+        for (final var scenario : scenarios) {
+            maxWeight = Math.max(maxWeight, scenario.getWeight());
+        }
+        for (int round = 0; round < maxWeight; round++) {
+            for (final var scenario : scenarios) {
+                if (round < scenario.getWeight()) {
+                    schedule.add(scenario);
+                }
+            }
+        }
+        return schedule.toArray(new Scenario[0]);
+    }
+
+    void run(final Duration duration) throws InterruptedException {
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        long lag = 0;
+        for (long sequence = 0; ; sequence++) {
+            final long intended = start + sequence * intervalNanos;
+            if (intended - end >= 0) {
+                break;
+            }
+            long remaining = intended - System.nanoTime();
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                remaining = intended - System.nanoTime();
+            }
+            lag = Math.max(lag, -remaining);
+            send(schedule[(int) (sequence % schedule.length)], sequence, intended);
+        }
+        maxScheduleLagNanos = Math.max(maxScheduleLagNanos, lag);
+        awaitInFlight();
+    }
+
+    private void send(final Scenario scenario, final long sequence, final long intendedNanos) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            totalLatency.record(DROPPED_LATENCY_NANOS);
+            scenario.recordDropped(DROPPED_LATENCY_NANOS);
+            return;
+        }
+        client.sendAsync(scenario.createRequest(baseUri, sequence), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    final long latency = System.nanoTime() - intendedNanos;
+                    totalLatency.record(latency);
+                    if (error != null) {
+                        scenario.recordFailure(latency);
+                    } else {
+                        scenario.recordResponse(response.statusCode(), latency);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    void reset() {
+        scenarios.forEach(Scenario::reset);
+        totalLatency.reset();
+        maxScheduleLagNanos = 0;
+    }
+
+    List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    LatencyHistogram.Snapshot getTotalLatency() {
+        return totalLatency.snapshot();
+    }
+
+    // 생성기 자신이 예정 시각보다 늦게 보낸 최대 시간. 크면 부하 생성기가 포화된 것이라 결과를 믿을 수 없다.
+    long getMaxScheduleLagMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxScheduleLagNanos);
+    }
+
+    int getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
@@ -0,0 +1,106 @@
+package nextstep.loadtest;
+
+import org.springframework.jdbc.support.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+
+/**
+ * 부하 혼합을 이루는 요청 하나. 기대한 상태 코드가 아니면 오류로 센다.
+ * 지연은 요청을 보내려던 시각부터 재므로 서버가 밀려 요청이 늦게 나간 시간도 포함된다.
+ */
+final class Scenario {
+
+    private final String name;
+    private final int weight;
+    private final int expectedStatus;
+    private final BiFunction<URI, Long, HttpRequest> requestFactory;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    Scenario(final String name, final int weight, final int expectedStatus,
+             final BiFunction<URI, Long, HttpRequest> requestFactory) {
+        this.name = name;
+        this.weight = weight;
+        this.expectedStatus = expectedStatus;
+        this.requestFactory = requestFactory;
+    }
+
+    static Scenario get(final String name, final int weight, final String path) {
+        return new Scenario(name, weight, 200,
+                (baseUri, sequence) -> HttpRequest.newBuilder(baseUri.resolve(path)).GET().build());
+    }
+
+    static Scenario get(final String name, final int weight, final LongFunction<String> path) {
+        return new Scenario(name, weight, 200,
+                (baseUri, sequence) -> HttpRequest.newBuilder(baseUri.resolve(path.apply(sequence))).GET().build());
+    }
+
+    // 폼 제출은 리다이렉트로 끝난다.
+    static Scenario postForm(final String name, final int weight, final String path,
+                             final LongFunction<String> formBody) {
+        return postForm(name, weight, 302, path, formBody);
+    }
+
+    static Scenario postForm(final String name, final int weight, final int expectedStatus, final String path,
+                             final LongFunction<String> formBody) {
+        return new Scenario(name, weight, expectedStatus, (baseUri, sequence) -> HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formBody.apply(sequence)))
+                .build());
+    }
+
+    HttpRequest createRequest(final URI baseUri, final long sequence) {
+        return requestFactory.apply(baseUri, sequence);
+    }
+
+    void recordResponse(final int status, final long latencyNanos) {
+        latency.record(latencyNanos);
+        if (status != expectedStatus) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure(final long latencyNanos) {
+        latency.record(latencyNanos);
+        errors.increment();
+    }
+
+    // 동시 요청 한도를 넘어 보내지 못한 요청. 빼고 집계하면 포화 구간이 결과에서 사라지므로,
+    // 응답을 기다리는 최대 시간이 걸린 오류로 지연 분포에 넣고 따로도 센다.
+    void recordDropped(final long latencyNanos) {
+        latency.record(latencyNanos);
+        errors.increment();
+        dropped.increment();
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
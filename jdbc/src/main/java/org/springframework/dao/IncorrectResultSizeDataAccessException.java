@@ -0,0 +1,23 @@
+package org.springframework.dao;
+
+public class IncorrectResultSizeDataAccessException extends DataAccessException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int expectedSize;
+    private final int actualSize;
+
+    public IncorrectResultSizeDataAccessException(final int expectedSize, final int actualSize) {
+        super("Incorrect result size: expected " + expectedSize + ", actual " + actualSize);
+        this.expectedSize = expectedSize;
+        this.actualSize = actualSize;
+    }
+
+    public int getExpectedSize() {
+        return expectedSize;
+    }
+
+    public int getActualSize() {
+        return actualSize;
+    }
+}
@@ -0,0 +1,27 @@
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class ArgumentPreparedStatementSetter implements PreparedStatementSetter {
+
+    private final Object[] args;
+
+    public ArgumentPreparedStatementSetter(final Object[] args) {
+        this.args = args;
+    }
+
+    Object[] getArgs() {
+        return args;
+    }
+
+    @Override
+    public void setValues(final PreparedStatement pstmt) throws SQLException {
+        if (args == null) {
+            return;
+        }
+        for (int i = 0; i < args.length; i++) {
+            pstmt.setObject(i + 1, args[i]);
+        }
+    }
+}
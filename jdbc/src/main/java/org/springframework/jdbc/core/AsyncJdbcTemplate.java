@@ -0,0 +1,112 @@
+package org.springframework.jdbc.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.PooledDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * JdbcTemplate 작업을 전용 executor 에서 실행하고 CompletableFuture 로 돌려준다.
+ * 동시에 실행되는 작업 수는 커넥션 풀 크기를 넘지 않으며, 넘치는 작업은 도착 순서대로 기다린다.
+ * 작업은 호출한 스레드가 아닌 곳에서 실행되므로 호출 스레드의 트랜잭션에는 참여하지 않는다.
+ */
+public class AsyncJdbcTemplate implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncJdbcTemplate.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public AsyncJdbcTemplate(final JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, resolveConcurrency(jdbcTemplate.getDataSource()));
+    }
+
+    public AsyncJdbcTemplate(final JdbcTemplate jdbcTemplate, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive. maxConcurrency : " + maxConcurrency);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = createExecutor(maxConcurrency);
+    }
+
+    private static int resolveConcurrency(final DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(PooledDataSource.class)) {
+                return dataSource.unwrap(PooledDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not resolve pool size : {}", e.getMessage());
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    // 가상 스레드를 지원하는 런타임이면 가상 스레드를 쓰고, 아니면 동시성 한도만큼의 고정 스레드 풀을 쓴다.
+    private static ExecutorService createExecutor(final int maxConcurrency) {
+        try {
+            final var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final var threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                final var thread = new Thread(runnable, "AsyncJdbcTemplate-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public <T> CompletableFuture<T> execute(final Function<JdbcTemplate, T> action) {
+        return CompletableFuture.supplyAsync(() -> runWithPermit(action), executor);
+    }
+
+    private <T> T runWithPermit(final Function<JdbcTemplate, T> action) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            return action.apply(jdbcTemplate);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public <T> CompletableFuture<List<T>> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return execute(template -> template.query(sql, rowMapper, args));
+    }
+
+    public <T> CompletableFuture<T> queryForObject(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return execute(template -> template.queryForObject(sql, rowMapper, args));
+    }
+
+    public CompletableFuture<Integer> update(final String sql, final Object... args) {
+        return execute(template -> template.update(sql, args));
+    }
+
+    public CompletableFuture<int[]> batchUpdate(final String sql, final List<Object[]> batchArgs) {
+        return execute(template -> template.batchUpdate(sql, batchArgs));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,414 @@
+package org.springframework.jdbc.core;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.BoundedConcurrentCache;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 컬럼 이름과 생성자 파라미터 또는 setter 이름을 맞춰 객체를 만드는 RowMapper.
+ * 생성자와 setter 는 클래스마다 한 번만 LambdaMetafactory 와 MethodHandle 로 바인딩하고,
+ * 컬럼 구성마다 만드는 매퍼는 그 접근자들에 컬럼 위치만 붙인 객체라서 새 클래스를 정의하지 않는다.
+ * JdbcTemplate 은 쿼리마다 bind 로 컬럼 구성을 한 번 확인하고, 같은 구성이면 만들어 둔 매퍼를 다시 쓴다.
+ * 생성자 매핑은 파라미터 이름이 필요하므로 매핑 대상 클래스를 -parameters 옵션으로 컴파일해야 한다.
+ */
+public class BeanPropertyRowMapper<T> implements BindableRowMapper<T> {
+
+    private static final int MAX_LAYOUTS_PER_CLASS = 32;
+
+    // 접근자와 매퍼를 대상 클래스에 붙여 두므로, 웹앱을 다시 배포해 클래스가 내려가면 함께 수거된다.
+    private static final ClassValue<MappedClass> MAPPED_CLASSES = new ClassValue<>() {
+        @Override
+        protected MappedClass computeValue(final Class<?> type) {
+            return new MappedClass(type);
+        }
+    };
+
+    private final Class<T> mappedClass;
+
+    public BeanPropertyRowMapper(final Class<T> mappedClass) {
+        this.mappedClass = mappedClass;
+    }
+
+    public static <T> BeanPropertyRowMapper<T> newInstance(final Class<T> mappedClass) {
+        return new BeanPropertyRowMapper<>(mappedClass);
+    }
+
+    // 스키마가 바뀌면 같은 sql 도 다른 컬럼을 돌려주므로 sql 이 아니라 실제 컬럼 이름으로 매퍼를 찾는다.
+    @Override
+    public RowMapper<T> bind(final String sql, final ResultSet rs) throws SQLException {
+        return resolve(rs.getMetaData());
+    }
+
+    /**
+     * bind 없이 직접 부르면 행마다 컬럼 구성을 확인하므로, 여러 행을 읽을 때는 bind 로 받은 매퍼를 쓴다.
+     */
+    @Override
+    public T mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+        return resolve(rs.getMetaData()).mapRow(rs, rowNum);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RowMapper<T> resolve(final ResultSetMetaData metaData) throws SQLException {
+        final var columnCount = metaData.getColumnCount();
+        final var labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        final var mapped = MAPPED_CLASSES.get(mappedClass);
+        return (RowMapper<T>) mapped.layouts.get(List.of(labels), mapped::compile);
+    }
+
+    private static String normalize(final String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Class<?> boxed(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static Object invokeFactory(final MethodHandle factory) {
+        try {
+            return factory.invokeExact();
+        } catch (Throwable e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    private static void invokeSetter(final MethodHandle setter, final Object target, final Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    /**
+     * 대상 클래스 하나의 접근자와 컬럼 구성별 매퍼.
+     * no-arg 생성자가 있으면 setter 로, 없으면 선택한 컬럼을 모두 받는 가장 긴 생성자로 매핑한다.
+     */
+    private static final class MappedClass {
+
+        private final Class<?> type;
+        private final Supplier<Object> factory;
+        private final List<PropertySetter> setters = new ArrayList<>();
+        private final List<ConstructorAccessor> constructors = new ArrayList<>();
+        private final BoundedConcurrentCache<List<String>, RowMapper<?>> layouts =
+                new BoundedConcurrentCache<>(MAX_LAYOUTS_PER_CLASS);
+
+        private MappedClass(final Class<?> type) {
+            this.type = type;
+            try {
+                final var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                final var noArgConstructor = findNoArgConstructor();
+                if (noArgConstructor != null) {
+                    this.factory = createFactory(lookup, noArgConstructor);
+                    collectSetters(lookup);
+                    return;
+                }
+                this.factory = null;
+                collectConstructors(lookup);
+            } catch (IllegalAccessException e) {
+                throw new DataAccessException("Cannot access " + type.getName(), e);
+            }
+        }
+
+        private Constructor<?> findNoArgConstructor() {
+            return Arrays.stream(type.getDeclaredConstructors())
+                    .filter(constructor -> constructor.getParameterCount() == 0)
+                    .filter(constructor -> !Modifier.isPrivate(constructor.getModifiers()))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private void collectSetters(final MethodHandles.Lookup lookup) throws IllegalAccessException {
+            for (final var method : type.getMethods()) {
+                if (isSetter(method)) {
+                    setters.add(new PropertySetter(normalize(method.getName().substring(3)),
+                            createSetter(lookup, method), ColumnReader.of(method.getParameterTypes()[0])));
+                }
+            }
+        }
+
+        private boolean isSetter(final Method method) {
+            return method.getName().startsWith("set")
+                    && method.getName().length() > 3
+                    && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers());
+        }
+
+        private void collectConstructors(final MethodHandles.Lookup lookup) throws IllegalAccessException {
+            for (final var constructor : type.getDeclaredConstructors()) {
+                if (Modifier.isPrivate(constructor.getModifiers())) {
+                    continue;
+                }
+                final var names = parameterNames(constructor);
+                if (names == null) {
+                    continue;
+                }
+                final var parameterTypes = constructor.getParameterTypes();
+                final var readers = new ColumnReader[parameterTypes.length];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    names[i] = normalize(names[i]);
+                    readers[i] = ColumnReader.of(parameterTypes[i]);
+                }
+                final var handle = lookup.unreflectConstructor(constructor)
+                        .asType(MethodType.genericMethodType(parameterTypes.length))
+                        .asSpreader(Object[].class, parameterTypes.length);
+                constructors.add(new ConstructorAccessor(names, handle, readers));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Supplier<Object> createFactory(final MethodHandles.Lookup lookup, final Constructor<?> constructor)
+                throws IllegalAccessException {
+            final var handle = lookup.unreflectConstructor(constructor);
+            try {
+                final var callSite = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(type));
+                return (Supplier<Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable e) {
+                final var generic = handle.asType(MethodType.methodType(Object.class));
+                return () -> invokeFactory(generic);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private BiConsumer<Object, Object> createSetter(final MethodHandles.Lookup lookup, final Method setter)
+                throws IllegalAccessException {
+            final var handle = lookup.unreflect(setter);
+            try {
+                final var callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, type, boxed(setter.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable e) {
+                final var generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return (target, value) -> invokeSetter(generic, target, value);
+            }
+        }
+
+        private String[] parameterNames(final Constructor<?> constructor) {
+            final var parameters = constructor.getParameters();
+            final var names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                if (!parameters[i].isNamePresent()) {
+                    return recordComponentNames(constructor);
+                }
+                names[i] = parameters[i].getName();
+            }
+            return names;
+        }
+
+        // Java 16 이상에서 record 의 canonical 생성자는 -parameters 없이도 컴포넌트 이름으로 매핑한다.
+        private String[] recordComponentNames(final Constructor<?> constructor) {
+            try {
+                final var components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+                if (components == null || components.length != constructor.getParameterCount()) {
+                    return null;
+                }
+                final var names = new String[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+                }
+                return names;
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        private RowMapper<?> compile(final List<String> labels) {
+            final var columnIndexes = new HashMap<String, Integer>();
+            for (int i = labels.size() - 1; i >= 0; i--) {
+                columnIndexes.put(normalize(labels.get(i)), i + 1);
+            }
+            if (factory != null) {
+                return compileSetterMapper(columnIndexes);
+            }
+            return compileConstructorMapper(columnIndexes);
+        }
+
+        private RowMapper<?> compileSetterMapper(final Map<String, Integer> columnIndexes) {
+            final var matched = new ArrayList<PropertySetter>();
+            final var indexes = new ArrayList<Integer>();
+            for (final var setter : setters) {
+                final var columnIndex = columnIndexes.get(setter.name);
+                if (columnIndex != null) {
+                    matched.add(setter);
+                    indexes.add(columnIndex);
+                }
+            }
+            return new SetterRowMapper<>(type, factory, indexes.stream().mapToInt(Integer::intValue).toArray(),
+                    matched.toArray(new PropertySetter[0]));
+        }
+
+        private RowMapper<?> compileConstructorMapper(final Map<String, Integer> columnIndexes) {
+            ConstructorAccessor selected = null;
+            int[] selectedIndexes = null;
+            for (final var constructor : constructors) {
+                final var indexes = constructor.match(columnIndexes);
+                if (indexes != null && (selected == null || indexes.length > selectedIndexes.length)) {
+                    selected = constructor;
+                    selectedIndexes = indexes;
+                }
+            }
+            if (selected == null) {
+                throw new DataAccessException("No constructor of " + type.getName()
+                        + " matches the selected columns. Compile it with -parameters or add a no-arg constructor.");
+            }
+            return new ConstructorRowMapper<>(type, selected, selectedIndexes);
+        }
+    }
+
+    private static final class PropertySetter {
+
+        private final String name;
+        private final BiConsumer<Object, Object> setter;
+        private final ColumnReader reader;
+
+        private PropertySetter(final String name, final BiConsumer<Object, Object> setter, final ColumnReader reader) {
+            this.name = name;
+            this.setter = setter;
+            this.reader = reader;
+        }
+    }
+
+    private static final class ConstructorAccessor {
+
+        private final String[] names;
+        private final MethodHandle handle;
+        private final ColumnReader[] readers;
+
+        private ConstructorAccessor(final String[] names, final MethodHandle handle, final ColumnReader[] readers) {
+            this.names = names;
+            this.handle = handle;
+            this.readers = readers;
+        }
+
+        private int[] match(final Map<String, Integer> columnIndexes) {
+            final var indexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                final var columnIndex = columnIndexes.get(names[i]);
+                if (columnIndex == null) {
+                    return null;
+                }
+                indexes[i] = columnIndex;
+            }
+            return indexes;
+        }
+    }
+
+    private static final class SetterRowMapper<T> implements RowMapper<T> {
+
+        private final Class<T> mappedClass;
+        private final Supplier<Object> factory;
+        private final int[] indexes;
+        private final PropertySetter[] setters;
+
+        private SetterRowMapper(final Class<T> mappedClass, final Supplier<Object> factory, final int[] indexes,
+                                final PropertySetter[] setters) {
+            this.mappedClass = mappedClass;
+            this.factory = factory;
+            this.indexes = indexes;
+            this.setters = setters;
+        }
+
+        @Override
+        public T mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+            final var target = factory.get();
+            for (int i = 0; i < indexes.length; i++) {
+                final var setter = setters[i];
+                setter.setter.accept(target, setter.reader.read(rs, indexes[i]));
+            }
+            return mappedClass.cast(target);
+        }
+    }
+
+    private static final class ConstructorRowMapper<T> implements RowMapper<T> {
+
+        private final Class<T> mappedClass;
+        private final MethodHandle constructor;
+        private final int[] indexes;
+        private final ColumnReader[] readers;
+
+        private ConstructorRowMapper(final Class<T> mappedClass, final ConstructorAccessor accessor, final int[] indexes) {
+            this.mappedClass = mappedClass;
+            this.constructor = accessor.handle;
+            this.indexes = indexes;
+            this.readers = accessor.readers;
+        }
+
+        @Override
+        public T mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+            final var args = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                args[i] = readers[i].read(rs, indexes[i]);
+            }
+            try {
+                return mappedClass.cast((Object) constructor.invokeExact(args));
+            } catch (RuntimeException | SQLException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DataAccessException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+
+        Object read(final ResultSet rs, final int index) throws SQLException;
+
+        static ColumnReader of(final Class<?> type) {
+            if (type == long.class) {
+                return ResultSet::getLong;
+            }
+            if (type == int.class) {
+                return ResultSet::getInt;
+            }
+            if (type == double.class) {
+                return ResultSet::getDouble;
+            }
+            if (type == boolean.class) {
+                return ResultSet::getBoolean;
+            }
+            if (type == String.class) {
+                return ResultSet::getString;
+            }
+            if (type == Long.class) {
+                return JdbcUtils::getNullableLong;
+            }
+            if (type == Integer.class) {
+                return JdbcUtils::getNullableInt;
+            }
+            if (type == BigDecimal.class) {
+                return ResultSet::getBigDecimal;
+            }
+            return (rs, index) -> rs.getObject(index, type);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 결과의 컬럼 구성에 맞춰 미리 준비한 매퍼를 돌려주는 RowMapper.
+ * JdbcTemplate 은 쿼리마다 bind 를 한 번만 호출하고, 돌려받은 매퍼로 그 결과의 모든 행을 읽는다.
+ */
+public interface BindableRowMapper<T> extends RowMapper<T> {
+
+    /**
+     * 스키마가 바뀌면 같은 sql 도 다른 컬럼을 돌려줄 수 있으므로 sql 만으로 매퍼를 캐시하지 않는다. sql 을 모르면 null 이 넘어온다.
+     */
+    RowMapper<T> bind(final String sql, final ResultSet rs) throws SQLException;
+
+    static <T> RowMapper<T> resolve(final RowMapper<T> rowMapper, final String sql, final ResultSet rs) throws SQLException {
+        if (rowMapper instanceof BindableRowMapper) {
+            return ((BindableRowMapper<T>) rowMapper).bind(sql, rs);
+        }
+        return rowMapper;
+    }
+}
@@ -0,0 +1,76 @@
+package org.springframework.jdbc.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+
+/**
+ * 마지막 행의 키 값을 불투명한 문자열로 바꾼다. 클라이언트가 내용을 해석하거나 조작하지 않도록 base64 로 감싼다.
+ * 형식은 v1|지문|타입:값|... 이며 문자열 값은 길이를 앞에 붙여 구분자와 섞이지 않게 한다.
+ */
+final class ContinuationToken {
+
+    private static final String VERSION = "v1";
+
+    private ContinuationToken() {
+    }
+
+    static String encode(final int fingerprint, final Object[] keys) {
+        final var builder = new StringBuilder(VERSION).append('|').append(Integer.toHexString(fingerprint));
+        for (final var key : keys) {
+            builder.append('|');
+            if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+                builder.append("L:").append(((Number) key).longValue());
+            } else if (key instanceof String) {
+                final var value = (String) key;
+                builder.append("S:").append(value.length()).append(':').append(value);
+            } else {
+                throw new IllegalArgumentException("Unsupported key type for keyset paging : "
+                        + (key == null ? "null" : key.getClass().getName()));
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object[] decode(final String token, final int fingerprint, final int keyCount) {
+        try {
+            final var text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final var header = VERSION + '|' + Integer.toHexString(fingerprint) + '|';
+            if (!text.startsWith(header)) {
+                throw invalid(token);
+            }
+            final var keys = new ArrayList<>(keyCount);
+            int position = header.length();
+            while (position < text.length()) {
+                final char type = text.charAt(position);
+                if (text.charAt(position + 1) != ':') {
+                    throw invalid(token);
+                }
+                position += 2;
+                if (type == 'L') {
+                    int end = text.indexOf('|', position);
+                    end = end < 0 ? text.length() : end;
+                    keys.add(Long.parseLong(text.substring(position, end)));
+                    position = end + 1;
+                } else if (type == 'S') {
+                    final int colon = text.indexOf(':', position);
+                    final int length = Integer.parseInt(text.substring(position, colon));
+                    keys.add(text.substring(colon + 1, colon + 1 + length));
+                    position = colon + 1 + length + 1;
+                } else {
+                    throw invalid(token);
+                }
+            }
+            if (keys.size() != keyCount) {
+                throw invalid(token);
+            }
+            return keys.toArray();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static IllegalArgumentException invalid(final String token) {
+        return new IllegalArgumentException("Invalid continuation token : " + token);
+    }
+}
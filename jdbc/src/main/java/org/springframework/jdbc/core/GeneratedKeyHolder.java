@@ -0,0 +1,44 @@
+package org.springframework.jdbc.core;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+import java.util.Arrays;
+
+public class GeneratedKeyHolder implements KeyHolder {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public long getKey() {
+        if (size != 1) {
+            throw new IncorrectResultSizeDataAccessException(1, size);
+        }
+        return keys[0];
+    }
+
+    @Override
+    public long[] getKeys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void addKey(final long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size++] = key;
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratedKeyHolder{keys=" + Arrays.toString(getKeys()) + '}';
+    }
+}
@@ -2,16 +2,743 @@ package org.springframework.jdbc.core;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.cache.CachedRows;
+import org.springframework.jdbc.core.cache.QueryResultCache;
+import org.springframework.jdbc.core.columnar.ColumnarResult;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.BoundedConcurrentCache;
+import org.springframework.jdbc.support.IntList;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.LongList;
+import org.springframework.jdbc.support.LongLongMap;
+import org.springframework.jdbc.support.metrics.SqlMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JdbcTemplate {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcTemplate.class);
 
+    private static final int DEFAULT_STREAMING_FETCH_SIZE = 256;
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final int DEFAULT_MAX_ROWS_PER_INSERT = 256;
+    private static final int DEFAULT_MAX_PARAMETERS_PER_INSERT = 2_000;
+    private static final int MULTI_ROW_INSERT_CACHE_LIMIT = 64;
+
     private final DataSource dataSource;
+    private final BoundedConcurrentCache<String, MultiRowInsert> multiRowInserts =
+            new BoundedConcurrentCache<>(MULTI_ROW_INSERT_CACHE_LIMIT);
+    private int fetchSize;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private QueryResultCache queryResultCache;
+    private boolean rewriteBatchedInserts;
+    private int maxRowsPerInsert = DEFAULT_MAX_ROWS_PER_INSERT;
+    private int maxParametersPerInsert = DEFAULT_MAX_PARAMETERS_PER_INSERT;
+    private SqlMetrics sqlMetrics = SqlMetrics.getDefault();
 
     public JdbcTemplate(final DataSource dataSource) {
         this.dataSource = dataSource;
     }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(final int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive. batchSize : " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public boolean isRewriteBatchedInserts() {
+        return rewriteBatchedInserts;
+    }
+
+    /**
+     * 켜면 batchUpdate 에 넘긴 한 행짜리 INSERT 를 values (...),(...) 여러 행 문장으로 바꿔 실행한다.
+     * 드라이버가 배치를 행마다 따로 실행하더라도 문장 실행 횟수가 행 수를 maxRowsPerInsert 로 나눈 만큼으로 줄어든다.
+     */
+    public void setRewriteBatchedInserts(final boolean rewriteBatchedInserts) {
+        this.rewriteBatchedInserts = rewriteBatchedInserts;
+    }
+
+    public void setMaxRowsPerInsert(final int maxRowsPerInsert) {
+        if (maxRowsPerInsert < 1) {
+            throw new IllegalArgumentException("maxRowsPerInsert must be positive. maxRowsPerInsert : " + maxRowsPerInsert);
+        }
+        this.maxRowsPerInsert = maxRowsPerInsert;
+    }
+
+    // DB 마다 한 문장의 바인드 파라미터 수에 제한이 있다. 기본값은 가장 작은 편인 SQL Server 의 2100 개보다 작게 잡았다.
+    public void setMaxParametersPerInsert(final int maxParametersPerInsert) {
+        if (maxParametersPerInsert < 1) {
+            throw new IllegalArgumentException(
+                    "maxParametersPerInsert must be positive. maxParametersPerInsert : " + maxParametersPerInsert);
+        }
+        this.maxParametersPerInsert = maxParametersPerInsert;
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    // null 을 넘기면 문장별 지연과 느린 쿼리를 기록하지 않는다.
+    public void setSqlMetrics(final SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * 설정하면 인자 배열을 받는 query 결과를 캐시하고, 이 템플릿으로 실행한 쓰기 문이 건드린 테이블의 캐시를 무효화한다.
+     * 다른 경로로 같은 테이블에 쓰는 코드가 있다면 그쪽에서도 같은 캐시를 무효화해야 한다.
+     */
+    public void setQueryResultCache(final QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    public int update(final String sql, final Object... args) {
+        return update(sql, new ArgumentPreparedStatementSetter(args));
+    }
+
+    public int update(final String sql, final PreparedStatementSetter pss) {
+        return execute(new SimpleStatementCreator(sql), pstmt -> {
+            pss.setValues(pstmt);
+            return pstmt.executeUpdate();
+        }, false, argumentsOf(pss));
+    }
+
+    /**
+     * 생성된 키를 keyHolder 에 담는다. INSERT 직후 같은 행을 다시 조회할 필요가 없다.
+     */
+    public int update(final String sql, final PreparedStatementSetter pss, final KeyHolder keyHolder) {
+        return update(new GeneratedKeysStatementCreator(sql), pstmt -> {
+            pss.setValues(pstmt);
+            return pstmt.executeUpdate();
+        }, keyHolder, argumentsOf(pss));
+    }
+
+    /**
+     * psc 가 SqlProvider 를 구현하지 않으면 어떤 테이블에 쓰는지 알 수 없으므로 결과 캐시 전체를 무효화한다.
+     */
+    public int update(final PreparedStatementCreator psc, final KeyHolder keyHolder) {
+        return update(psc, PreparedStatement::executeUpdate, keyHolder, null);
+    }
+
+    private int update(final PreparedStatementCreator psc, final PreparedStatementCallback<Integer> action,
+                       final KeyHolder keyHolder, final Object[] args) {
+        return execute(psc, pstmt -> {
+            final int rowsAffected = action.doInPreparedStatement(pstmt);
+            extractGeneratedKeys(pstmt, keyHolder);
+            return rowsAffected;
+        }, false, args);
+    }
+
+    public int[] batchUpdate(final String sql, final List<Object[]> batchArgs) {
+        return batchUpdate(sql, batchArgs, (pstmt, args) -> new ArgumentPreparedStatementSetter(args).setValues(pstmt));
+    }
+
+    public int[] batchUpdate(final String sql, final List<Object[]> batchArgs, final KeyHolder keyHolder) {
+        return batchUpdate(sql, batchArgs,
+                (pstmt, args) -> new ArgumentPreparedStatementSetter(args).setValues(pstmt), keyHolder);
+    }
+
+    /**
+     * batchSize 개씩 모아 executeBatch 를 호출하므로 행 수와 관계없이 청크마다 한 번만 DB 를 왕복한다.
+     * 반환값은 batchArgs 순서대로의 행별 update count 이다.
+     */
+    public <T> int[] batchUpdate(final String sql, final Collection<T> batchArgs, final ParameterizedPreparedStatementSetter<T> pss) {
+        return batchUpdate(sql, batchArgs, pss, null);
+    }
+
+    /**
+     * 청크마다 executeBatch 직후 생성된 키를 읽어 batchArgs 순서대로 keyHolder 에 담는다.
+     */
+    public <T> int[] batchUpdate(final String sql, final Collection<T> batchArgs, final ParameterizedPreparedStatementSetter<T> pss,
+                                 final KeyHolder keyHolder) {
+        if (batchArgs.isEmpty()) {
+            return new int[0];
+        }
+        if (rewriteBatchedInserts) {
+            final var insert = multiRowInserts.get(sql, MultiRowInsert::parse);
+            if (insert.isRewritable() && batchArgs.size() > 1) {
+                return batchInsert(sql, insert, batchArgs, pss, keyHolder);
+            }
+        }
+        final PreparedStatementCreator psc = keyHolder == null ? new SimpleStatementCreator(sql) : new GeneratedKeysStatementCreator(sql);
+        return execute(psc, pstmt -> {
+            final var rowsAffected = new int[batchArgs.size()];
+            int offset = 0;
+            int pending = 0;
+            for (final T argument : batchArgs) {
+                pss.setValues(pstmt, argument);
+                pstmt.addBatch();
+                if (++pending == batchSize) {
+                    offset = executeBatch(pstmt, rowsAffected, offset, keyHolder);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                executeBatch(pstmt, rowsAffected, offset, keyHolder);
+            }
+            return rowsAffected;
+        }, false, null);
+    }
+
+    /**
+     * 가장 큰 버킷 크기의 문장을 배치로 묶어 실행하고, 남은 행은 이진 분해한 버킷으로 한 문장씩 실행한다.
+     * 버킷마다 PreparedStatement 를 하나만 준비하며, 풀의 statement 캐시가 켜져 있으면 호출 사이에도 재사용된다.
+     */
+    private <T> int[] batchInsert(final String sql, final MultiRowInsert insert, final Collection<T> batchArgs,
+                                  final ParameterizedPreparedStatementSetter<T> pss, final KeyHolder keyHolder) {
+        log.debug("query : {} (rewritten to multi-row insert)", sql);
+        final int parameterCount = insert.getParameterCount();
+        final int maximumRows = insert.maximumRows(maxRowsPerInsert, maxParametersPerInsert);
+        final var rowsAffected = new int[batchArgs.size()];
+        final Map<Integer, PreparedStatement> statements = new HashMap<>();
+        final var connection = DataSourceUtils.getConnection(dataSource);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Iterator<T> arguments = batchArgs.iterator();
+            int remaining = batchArgs.size();
+            int offset = 0;
+            if (remaining >= maximumRows) {
+                final var pstmt = prepareBucket(connection, insert, maximumRows, statements, keyHolder != null);
+                final var offsetStatement = OffsetParameterStatement.of(pstmt);
+                final var proxy = offsetStatement.proxy();
+                final int statementsPerBatch = Math.max(1, batchSize / maximumRows);
+                int pending = 0;
+                while (remaining >= maximumRows) {
+                    setRows(proxy, offsetStatement, parameterCount, maximumRows, arguments, pss);
+                    pstmt.addBatch();
+                    remaining -= maximumRows;
+                    if (++pending == statementsPerBatch) {
+                        offset = fillBucketCounts(pstmt.executeBatch(), maximumRows, rowsAffected, offset);
+                        extractGeneratedKeys(pstmt, keyHolder);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    offset = fillBucketCounts(pstmt.executeBatch(), maximumRows, rowsAffected, offset);
+                    extractGeneratedKeys(pstmt, keyHolder);
+                }
+            }
+            while (remaining > 0) {
+                final int rows = Integer.highestOneBit(remaining);
+                final var pstmt = prepareBucket(connection, insert, rows, statements, keyHolder != null);
+                final var offsetStatement = OffsetParameterStatement.of(pstmt);
+                setRows(offsetStatement.proxy(), offsetStatement, parameterCount, rows, arguments, pss);
+                offset = fillBucketCounts(new int[]{pstmt.executeUpdate()}, rows, rowsAffected, offset);
+                extractGeneratedKeys(pstmt, keyHolder);
+                remaining -= rows;
+            }
+            failed = false;
+            return rowsAffected;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        } finally {
+            recordStatement(sql, start, failed ? null : rowsAffected, failed, null);
+            statements.values().forEach(JdbcUtils::closeStatement);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            invalidateCache(sql);
+        }
+    }
+
+    private PreparedStatement prepareBucket(final Connection connection, final MultiRowInsert insert, final int rows,
+                                            final Map<Integer, PreparedStatement> statements, final boolean returnGeneratedKeys)
+            throws SQLException {
+        var pstmt = statements.get(rows);
+        if (pstmt == null) {
+            pstmt = returnGeneratedKeys
+                    ? connection.prepareStatement(insert.sql(rows), Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(insert.sql(rows));
+            applyStatementSettings(pstmt);
+            statements.put(rows, pstmt);
+        }
+        return pstmt;
+    }
+
+    private <T> void setRows(final PreparedStatement proxy, final OffsetParameterStatement offsetStatement, final int parameterCount,
+                             final int rows, final Iterator<T> arguments, final ParameterizedPreparedStatementSetter<T> pss)
+            throws SQLException {
+        for (int row = 0; row < rows; row++) {
+            offsetStatement.setOffset(row * parameterCount);
+            pss.setValues(proxy, arguments.next());
+        }
+    }
+
+    // 여러 행 문장의 update count 는 문장 단위이므로 행마다 1 로 펼치고, 맞지 않으면 SUCCESS_NO_INFO 로 둔다.
+    private int fillBucketCounts(final int[] counts, final int rows, final int[] rowsAffected, final int offset) {
+        int position = offset;
+        for (final int count : counts) {
+            final int perRow = count == rows ? 1 : Statement.SUCCESS_NO_INFO;
+            Arrays.fill(rowsAffected, position, position + rows, perRow);
+            position += rows;
+        }
+        return position;
+    }
+
+    private int executeBatch(final PreparedStatement pstmt, final int[] rowsAffected, final int offset, final KeyHolder keyHolder)
+            throws SQLException {
+        final var counts = pstmt.executeBatch();
+        System.arraycopy(counts, 0, rowsAffected, offset, counts.length);
+        extractGeneratedKeys(pstmt, keyHolder);
+        return offset + counts.length;
+    }
+
+    // 키는 첫 번째 컬럼만 읽는다. 복합 키나 숫자가 아닌 키는 지원하지 않는다.
+    private void extractGeneratedKeys(final Statement statement, final KeyHolder keyHolder) throws SQLException {
+        if (keyHolder == null) {
+            return;
+        }
+        try (final var rs = statement.getGeneratedKeys()) {
+            while (rs.next()) {
+                keyHolder.addKey(rs.getLong(1));
+            }
+        }
+    }
+
+    public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        // 쓰기 트랜잭션 안에서는 커밋되지 않은 값을 다른 스레드와 공유하지 않도록 캐시를 거치지 않는다.
+        final var cache = isInWriteTransaction() ? null : queryResultCache;
+        final var key = cache == null ? null : cache.createKey(sql, args);
+        if (key == null) {
+            return query(sql, rowMapper, new ArgumentPreparedStatementSetter(args));
+        }
+        var rows = cache.get(key);
+        if (rows == null) {
+            final var versions = cache.currentVersions(key);
+            rows = executeQuery(sql, args, pstmt -> {
+                new ArgumentPreparedStatementSetter(args).setValues(pstmt);
+                try (final var rs = pstmt.executeQuery()) {
+                    return CachedRows.extract(rs);
+                }
+            });
+            cache.put(key, versions, rows);
+        }
+        try {
+            return rows.map(sql, rowMapper);
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        }
+    }
+
+    public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final PreparedStatementSetter pss) {
+        return executeQuery(sql, argumentsOf(pss), pstmt -> {
+            pss.setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                final var mapper = BindableRowMapper.resolve(rowMapper, sql, rs);
+                final var results = new ArrayList<T>();
+                int rowNum = 0;
+                while (rs.next()) {
+                    results.add(mapper.mapRow(rs, rowNum++));
+                }
+                return results;
+            }
+        });
+    }
+
+    public void query(final String sql, final RowCallbackHandler rch, final Object... args) {
+        query(sql, rch, new ArgumentPreparedStatementSetter(args));
+    }
+
+    public void query(final String sql, final RowCallbackHandler rch, final PreparedStatementSetter pss) {
+        executeQuery(sql, argumentsOf(pss), pstmt -> {
+            pstmt.setFetchSize(streamingFetchSize());
+            pss.setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                int rowCount = 0;
+                while (rs.next()) {
+                    rch.processRow(rs);
+                    rowCount++;
+                }
+                return rowCount;
+            }
+        });
+    }
+
+    public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        final var results = query(sql, rowMapper, args);
+        if (results.isEmpty()) {
+            return null;
+        }
+        if (results.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, results.size());
+        }
+        return results.get(0);
+    }
+
+    /**
+     * 첫 번째 컬럼을 행마다 Long 을 만들지 않고 바로 long 으로 쌓는다. 대량의 id 를 훑는 배치 작업용이다.
+     * NULL 은 0 과 구분할 수 없으므로 예외를 던진다. 결과 캐시는 거치지 않는다.
+     */
+    public LongList queryForLongList(final String sql, final Object... args) {
+        return executeQuery(sql, args, pstmt -> {
+            pstmt.setFetchSize(streamingFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                final var results = new LongList();
+                while (rs.next()) {
+                    results.add(rs.getLong(1));
+                    checkNotNull(rs, 1);
+                }
+                return results;
+            }
+        });
+    }
+
+    public long[] queryForLongArray(final String sql, final Object... args) {
+        return queryForLongList(sql, args).toArray();
+    }
+
+    public int[] queryForIntArray(final String sql, final Object... args) {
+        return executeQuery(sql, args, pstmt -> {
+            pstmt.setFetchSize(streamingFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                final var results = new IntList();
+                while (rs.next()) {
+                    results.add(rs.getInt(1));
+                    checkNotNull(rs, 1);
+                }
+                return results;
+            }
+        }).toArray();
+    }
+
+    /**
+     * 첫 번째 컬럼을 키, 두 번째 컬럼을 값으로 담는다. 키가 겹치면 나중 행의 값이 남는다.
+     */
+    public LongLongMap queryForLongMap(final String sql, final Object... args) {
+        return executeQuery(sql, args, pstmt -> {
+            pstmt.setFetchSize(streamingFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                final var results = new LongLongMap();
+                while (rs.next()) {
+                    final long key = rs.getLong(1);
+                    checkNotNull(rs, 1);
+                    final long value = rs.getLong(2);
+                    checkNotNull(rs, 2);
+                    results.put(key, value);
+                }
+                return results;
+            }
+        });
+    }
+
+    /**
+     * 정렬 키 기준 페이지 조회. continuationToken 이 null 이면 첫 페이지를, 아니면 토큰에 담긴 키 다음부터 읽는다.
+     * 다음 페이지가 있는지 알기 위해 pageSize 보다 한 행 더 읽지만 그 행은 매핑하지 않는다.
+     * args 는 KeysetQuery 의 조건에 바인딩된다.
+     */
+    public <T> KeysetPage<T> queryForPage(final KeysetQuery query, final RowMapper<T> rowMapper, final int pageSize,
+                                          final String continuationToken, final Object... args) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive. pageSize : " + pageSize);
+        }
+        final String sql;
+        final Object[] values;
+        if (continuationToken == null) {
+            sql = query.getFirstPageSql();
+            values = Arrays.copyOf(args, args.length + 1);
+            values[args.length] = pageSize + 1;
+        } else {
+            final var keys = ContinuationToken.decode(continuationToken, query.fingerprint(), query.getKeyCount());
+            sql = query.getNextPageSql();
+            values = query.bindAfterKey(args, keys, pageSize + 1);
+        }
+        final var lastKeys = new Object[query.getKeyCount()];
+        final var hasNext = new boolean[1];
+        final var content = executeQuery(sql, values, pstmt -> {
+            new ArgumentPreparedStatementSetter(values).setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                final var mapper = BindableRowMapper.resolve(rowMapper, sql, rs);
+                final var results = new ArrayList<T>(Math.min(pageSize, DEFAULT_STREAMING_FETCH_SIZE));
+                while (rs.next()) {
+                    if (results.size() == pageSize) {
+                        hasNext[0] = true;
+                        break;
+                    }
+                    results.add(mapper.mapRow(rs, results.size()));
+                    if (results.size() == pageSize) {
+                        readKeys(rs, query.getKeyLabels(), lastKeys);
+                    }
+                }
+                return results;
+            }
+        });
+        final var token = hasNext[0] ? ContinuationToken.encode(query.fingerprint(), lastKeys) : null;
+        return new KeysetPage<>(content, token);
+    }
+
+    private void readKeys(final ResultSet rs, final String[] labels, final Object[] keys) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            keys[i] = rs.getObject(labels[i]);
+        }
+    }
+
+    /**
+     * 결과를 컬럼별 기본형 배열로 읽는다. 행 객체 없이 필터와 집계를 하는 리포트 조회용이다.
+     */
+    public ColumnarResult queryForColumnar(final String sql, final Object... args) {
+        return executeQuery(sql, args, pstmt -> {
+            pstmt.setFetchSize(streamingFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(pstmt);
+            try (final var rs = pstmt.executeQuery()) {
+                return ColumnarResult.extract(rs);
+            }
+        });
+    }
+
+    private void checkNotNull(final ResultSet rs, final int columnIndex) throws SQLException {
+        if (rs.wasNull()) {
+            throw new DataAccessException("NULL value in column " + columnIndex + " cannot be read as a primitive");
+        }
+    }
+
+    /**
+     * 결과를 한 번에 메모리에 올리지 않고 소비하는 만큼만 읽는다.
+     * 커넥션은 스트림을 끝까지 읽거나 close() 할 때 반납되므로 try-with-resources 로 사용해야 한다.
+     */
+    public <T> Stream<T> queryForStream(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return queryForStream(sql, rowMapper, new ArgumentPreparedStatementSetter(args));
+    }
+
+    public <T> Stream<T> queryForStream(final String sql, final RowMapper<T> rowMapper, final PreparedStatementSetter pss) {
+        log.debug("query : {}", sql);
+        final var connection = DataSourceUtils.getConnection(dataSource, true);
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        final long start = System.nanoTime();
+        try {
+            pstmt = connection.prepareStatement(sql);
+            pstmt.setFetchSize(streamingFetchSize());
+            pss.setValues(pstmt);
+            rs = pstmt.executeQuery();
+            // 스트림은 호출자가 읽는 만큼 이어지므로 첫 결과를 받을 때까지만 잰다.
+            recordStatement(sql, start, null, false, argumentsOf(pss));
+            final var spliterator = new ResultSetSpliterator<>(rs, pstmt, connection, dataSource,
+                    BindableRowMapper.resolve(rowMapper, sql, rs));
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(spliterator::close);
+        } catch (SQLException e) {
+            recordStatement(sql, start, null, true, argumentsOf(pss));
+            JdbcUtils.closeResultSet(rs);
+            JdbcUtils.closeStatement(pstmt);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        }
+    }
+
+    public <T> T execute(final String sql, final PreparedStatementCallback<T> action) {
+        return execute(new SimpleStatementCreator(sql), action, false, null);
+    }
+
+    // 조회는 읽기 전용 커넥션 힌트를 주어 읽기/쓰기를 나누는 DataSource 가 replica 로 보낼 수 있게 한다.
+    private <T> T executeQuery(final String sql, final Object[] args, final PreparedStatementCallback<T> action) {
+        return execute(new SimpleStatementCreator(sql), action, true, args);
+    }
+
+    public <T> T execute(final PreparedStatementCreator psc, final PreparedStatementCallback<T> action) {
+        return execute(psc, action, false, null);
+    }
+
+    // args 는 느린 쿼리 로그에 파라미터 타입을 남기는 데만 쓴다.
+    private <T> T execute(final PreparedStatementCreator psc, final PreparedStatementCallback<T> action, final boolean readOnly,
+                          final Object[] args) {
+        final var sql = getSql(psc);
+        log.debug("query : {}", sql);
+        final Connection connection = DataSourceUtils.getConnection(dataSource, readOnly);
+        final long start = System.nanoTime();
+        T result = null;
+        boolean failed = true;
+        try (final var pstmt = psc.createPreparedStatement(connection)) {
+            applyStatementSettings(pstmt);
+            result = action.doInPreparedStatement(pstmt);
+            failed = false;
+            return result;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        } finally {
+            recordStatement(sql, start, result, failed, args);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            invalidateCache(sql);
+        }
+    }
+
+    private void recordStatement(final String sql, final long start, final Object result, final boolean failed,
+                                 final Object[] args) {
+        final var metrics = sqlMetrics;
+        if (metrics != null) {
+            metrics.recordStatement(sql, System.nanoTime() - start, rowCount(result), failed, args);
+        }
+    }
+
+    private long rowCount(final Object result) {
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof int[]) {
+            long sum = 0;
+            for (final int count : (int[]) result) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof CachedRows) {
+            return ((CachedRows) result).size();
+        }
+        if (result instanceof LongList) {
+            return ((LongList) result).size();
+        }
+        if (result instanceof IntList) {
+            return ((IntList) result).size();
+        }
+        if (result instanceof LongLongMap) {
+            return ((LongLongMap) result).size();
+        }
+        if (result instanceof ColumnarResult) {
+            return ((ColumnarResult) result).getRowCount();
+        }
+        return 0;
+    }
+
+    private Object[] argumentsOf(final PreparedStatementSetter pss) {
+        if (pss instanceof ArgumentPreparedStatementSetter) {
+            return ((ArgumentPreparedStatementSetter) pss).getArgs();
+        }
+        return null;
+    }
+
+    private String getSql(final PreparedStatementCreator psc) {
+        if (psc instanceof SqlProvider) {
+            return ((SqlProvider) psc).getSql();
+        }
+        return null;
+    }
+
+    private boolean isInWriteTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // 실패한 쓰기도 일부 반영됐을 수 있으므로 성공 여부와 관계없이 무효화한다.
+    // 트랜잭션 중이면 커밋 전에 다른 스레드가 옛 값을 다시 캐시할 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 무효화한다.
+    // SQL 을 알 수 없는 PreparedStatementCreator 는 무엇을 바꿨는지 모르므로 전체를 무효화한다.
+    private void invalidateCache(final String sql) {
+        final var cache = queryResultCache;
+        if (cache == null) {
+            return;
+        }
+        if (sql == null) {
+            cache.invalidateAll();
+        } else if (!cache.invalidate(sql)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    if (sql == null) {
+                        cache.invalidateAll();
+                    } else {
+                        cache.invalidate(sql);
+                    }
+                }
+            });
+        }
+    }
+
+    private void applyStatementSettings(final PreparedStatement pstmt) throws SQLException {
+        if (fetchSize > 0) {
+            pstmt.setFetchSize(fetchSize);
+        }
+    }
+
+    private int streamingFetchSize() {
+        if (fetchSize > 0) {
+            return fetchSize;
+        }
+        return DEFAULT_STREAMING_FETCH_SIZE;
+    }
+
+    private static class SimpleStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+        private final String sql;
+
+        SimpleStatementCreator(final String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(final Connection con) throws SQLException {
+            return con.prepareStatement(sql);
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    private static class GeneratedKeysStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+        private final String sql;
+
+        GeneratedKeysStatementCreator(final String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(final Connection con) throws SQLException {
+            return con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package org.springframework.jdbc.core;
+
+/**
+ * INSERT 가 만든 키를 담는다. 숫자 키만 다루며 박싱 없이 long 으로 돌려준다.
+ * JdbcTemplate 은 키를 비우지 않고 이어 붙이므로 호출마다 새 인스턴스를 쓰는 것이 좋다.
+ */
+public interface KeyHolder {
+
+    /**
+     * 키가 정확히 하나일 때 그 값을 반환한다.
+     */
+    long getKey();
+
+    /**
+     * 생성된 순서대로의 모든 키. 배치라면 배치 인자 순서와 같다.
+     */
+    long[] getKeys();
+
+    int size();
+
+    void addKey(long key);
+}
@@ -0,0 +1,29 @@
+package org.springframework.jdbc.core;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String continuationToken;
+
+    KeysetPage(final List<T> content, final String continuationToken) {
+        this.content = content;
+        this.continuationToken = continuationToken;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * 다음 페이지를 읽을 때 넘기는 토큰. 마지막 페이지면 null 이다.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasNext() {
+        return continuationToken != null;
+    }
+}
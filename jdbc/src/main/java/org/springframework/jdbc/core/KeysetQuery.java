@@ -0,0 +1,128 @@
+package org.springframework.jdbc.core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 유일한 정렬 키 기준으로 마지막으로 본 키 다음부터 읽는 페이지 조회 정의.
+ * OFFSET 처럼 앞 페이지를 건너뛰며 읽지 않으므로, 키에 인덱스가 있으면 몇 번째 페이지든 비용이 같다.
+ * 키 컬럼들을 이어 붙인 값은 결과 안에서 유일해야 하며 NULL 이 없어야 한다.
+ */
+public final class KeysetQuery {
+
+    private final String selectSql;
+    private final String condition;
+    private final List<String> keyColumns;
+    private final boolean descending;
+    private final String firstPageSql;
+    private final String nextPageSql;
+    private final String[] keyLabels;
+
+    private KeysetQuery(final String selectSql, final String condition, final List<String> keyColumns, final boolean descending) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        this.selectSql = selectSql;
+        this.condition = condition;
+        this.keyColumns = keyColumns;
+        this.descending = descending;
+        this.firstPageSql = buildSql(false);
+        this.nextPageSql = buildSql(true);
+        this.keyLabels = keyColumns.stream()
+                .map(column -> column.substring(column.lastIndexOf('.') + 1))
+                .toArray(String[]::new);
+    }
+
+    /**
+     * selectSql 은 where 와 order by 없이 select ... from ... 까지만 쓴다.
+     */
+    public static KeysetQuery of(final String selectSql, final String... keyColumns) {
+        return new KeysetQuery(selectSql, null, List.of(keyColumns), false);
+    }
+
+    /**
+     * 추가 조건. 조건의 ? 에는 queryForPage 에 넘긴 인자가 순서대로 바인딩된다.
+     */
+    public KeysetQuery where(final String condition) {
+        return new KeysetQuery(selectSql, condition, keyColumns, descending);
+    }
+
+    public KeysetQuery descending() {
+        return new KeysetQuery(selectSql, condition, keyColumns, true);
+    }
+
+    // (k1, k2) > (?, ?) 를 k1 > ? or (k1 = ? and k2 > ?) 로 풀어 쓴다. 행 값 비교를 못 하는 DB 에서도 동작한다.
+    private String buildSql(final boolean afterKey) {
+        final var sql = new StringBuilder(selectSql);
+        final var comparison = descending ? " < ?" : " > ?";
+        String conjunction = " where ";
+        if (condition != null) {
+            sql.append(conjunction).append('(').append(condition).append(')');
+            conjunction = " and ";
+        }
+        if (afterKey) {
+            sql.append(conjunction).append('(');
+            for (int i = 0; i < keyColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(" or ");
+                }
+                sql.append('(');
+                for (int j = 0; j < i; j++) {
+                    sql.append(keyColumns.get(j)).append(" = ? and ");
+                }
+                sql.append(keyColumns.get(i)).append(comparison).append(')');
+            }
+            sql.append(')');
+        }
+        sql.append(" order by ");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(keyColumns.get(i)).append(descending ? " desc" : "");
+        }
+        return sql.append(" limit ?").toString();
+    }
+
+    String getFirstPageSql() {
+        return firstPageSql;
+    }
+
+    String getNextPageSql() {
+        return nextPageSql;
+    }
+
+    String[] getKeyLabels() {
+        return keyLabels;
+    }
+
+    int getKeyCount() {
+        return keyColumns.size();
+    }
+
+    // 다른 조회에서 받은 토큰을 잘못 쓰는 것을 막기 위해 토큰에 함께 담는다.
+    int fingerprint() {
+        return nextPageSql.hashCode();
+    }
+
+    /**
+     * 키 값 (k1, k2, ...) 뒤의 행을 고르는 바인드 순서: k1, k1, k2, k1, k2, k3 ...
+     */
+    Object[] bindAfterKey(final Object[] args, final Object[] keys, final int limit) {
+        final int keyCount = keys.length;
+        final var values = Arrays.copyOf(args, args.length + keyCount * (keyCount + 1) / 2 + 1);
+        int index = args.length;
+        for (int i = 0; i < keyCount; i++) {
+            for (int j = 0; j <= i; j++) {
+                values[index++] = keys[j];
+            }
+        }
+        values[index] = limit;
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetQuery{" + nextPageSql + '}';
+    }
+}
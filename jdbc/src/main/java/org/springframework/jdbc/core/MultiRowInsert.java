@@ -0,0 +1,139 @@
+package org.springframework.jdbc.core;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * insert into ... values (?, ...) 한 행짜리 문장을 values (...),(...) 여러 행 문장으로 바꾼다.
+ * 행 수는 2의 거듭제곱 버킷으로만 만들어 서로 다른 SQL 과 PreparedStatement 의 수를 log2 개로 묶는다.
+ */
+final class MultiRowInsert {
+
+    private static final MultiRowInsert NOT_REWRITABLE = new MultiRowInsert(null, null, 0);
+
+    private final String prefix;
+    private final String valuesTuple;
+    private final int parameterCount;
+    private final Map<Integer, String> sqlByRows = new ConcurrentHashMap<>();
+
+    private MultiRowInsert(final String prefix, final String valuesTuple, final int parameterCount) {
+        this.prefix = prefix;
+        this.valuesTuple = valuesTuple;
+        this.parameterCount = parameterCount;
+    }
+
+    static MultiRowInsert parse(final String sql) {
+        final var trimmed = stripTrailingSemicolon(sql.trim());
+        final var lower = trimmed.toLowerCase(Locale.ROOT);
+        if (!lower.startsWith("insert") || lower.contains(" select ")) {
+            return NOT_REWRITABLE;
+        }
+        final int valuesIndex = findValuesKeyword(lower);
+        if (valuesIndex < 0) {
+            return NOT_REWRITABLE;
+        }
+        int tupleStart = valuesIndex + "values".length();
+        while (tupleStart < trimmed.length() && Character.isWhitespace(trimmed.charAt(tupleStart))) {
+            tupleStart++;
+        }
+        if (tupleStart >= trimmed.length() || trimmed.charAt(tupleStart) != '(') {
+            return NOT_REWRITABLE;
+        }
+        final int tupleEnd = findClosingParenthesis(trimmed, tupleStart);
+        // values 뒤에 튜플 하나만 있어야 한다. on duplicate key 같은 꼬리 절이나 이미 여러 행인 문장은 그대로 둔다.
+        if (tupleEnd != trimmed.length() - 1) {
+            return NOT_REWRITABLE;
+        }
+        final var valuesTuple = trimmed.substring(tupleStart);
+        final int parameterCount = countPlaceholders(valuesTuple);
+        if (parameterCount == 0) {
+            return NOT_REWRITABLE;
+        }
+        return new MultiRowInsert(trimmed.substring(0, tupleStart), valuesTuple, parameterCount);
+    }
+
+    private static String stripTrailingSemicolon(final String sql) {
+        if (sql.endsWith(";")) {
+            return sql.substring(0, sql.length() - 1).trim();
+        }
+        return sql;
+    }
+
+    private static int findValuesKeyword(final String lower) {
+        int index = lower.indexOf("values");
+        while (index > 0) {
+            final var before = lower.charAt(index - 1);
+            final int after = index + "values".length();
+            if ((Character.isWhitespace(before) || before == ')')
+                    && (after == lower.length() || Character.isWhitespace(lower.charAt(after)) || lower.charAt(after) == '(')) {
+                return index;
+            }
+            index = lower.indexOf("values", index + 1);
+        }
+        return -1;
+    }
+
+    private static int findClosingParenthesis(final String sql, final int openIndex) {
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = openIndex; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '(') {
+                depth++;
+            } else if (!quoted && c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int countPlaceholders(final String tuple) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < tuple.length(); i++) {
+            final char c = tuple.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    boolean isRewritable() {
+        return this != NOT_REWRITABLE;
+    }
+
+    int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * 한 문장에 넣을 최대 행 수. 두 제한을 모두 지키는 가장 큰 2의 거듭제곱이다.
+     */
+    int maximumRows(final int maxRowsPerInsert, final int maxParametersPerInsert) {
+        final int rows = Math.max(1, Math.min(maxRowsPerInsert, maxParametersPerInsert / parameterCount));
+        return Integer.highestOneBit(rows);
+    }
+
+    String sql(final int rows) {
+        final var cached = sqlByRows.get(rows);
+        if (cached != null) {
+            return cached;
+        }
+        final var sql = new StringBuilder(prefix.length() + (valuesTuple.length() + 1) * rows).append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(valuesTuple);
+        }
+        final var built = sql.toString();
+        sqlByRows.putIfAbsent(rows, built);
+        return built;
+    }
+}
@@ -0,0 +1,50 @@
+package org.springframework.jdbc.core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+
+/**
+ * 파라미터 인덱스를 offset 만큼 밀어서 넘기는 PreparedStatement.
+ * 한 행짜리 PreparedStatementSetter 를 여러 행 INSERT 의 n 번째 행에 그대로 쓸 수 있게 한다.
+ */
+final class OffsetParameterStatement implements InvocationHandler {
+
+    private final PreparedStatement target;
+    private int offset;
+
+    private OffsetParameterStatement(final PreparedStatement target) {
+        this.target = target;
+    }
+
+    static OffsetParameterStatement of(final PreparedStatement target) {
+        return new OffsetParameterStatement(target);
+    }
+
+    PreparedStatement proxy() {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                this);
+    }
+
+    void setOffset(final int offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        // setFetchSize 처럼 인자가 하나인 문장 설정은 파라미터 인덱스가 아니므로 건드리지 않는다.
+        if (args != null && args.length >= 2 && args[0] instanceof Integer
+                && method.getName().startsWith("set") && method.getParameterTypes()[0] == int.class) {
+            args[0] = (Integer) args[0] + offset;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
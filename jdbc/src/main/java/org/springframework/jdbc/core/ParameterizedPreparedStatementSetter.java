@@ -0,0 +1,10 @@
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ParameterizedPreparedStatementSetter<T> {
+
+    void setValues(final PreparedStatement pstmt, final T argument) throws SQLException;
+}
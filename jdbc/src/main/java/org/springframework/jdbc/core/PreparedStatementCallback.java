@@ -0,0 +1,10 @@
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface PreparedStatementCallback<T> {
+
+    T doInPreparedStatement(final PreparedStatement pstmt) throws SQLException;
+}
@@ -0,0 +1,11 @@
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface PreparedStatementCreator {
+
+    PreparedStatement createPreparedStatement(Connection con) throws SQLException;
+}
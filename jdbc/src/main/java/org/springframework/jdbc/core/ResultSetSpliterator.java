@@ -0,0 +1,69 @@
+package org.springframework.jdbc.core;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * ResultSet 을 한 행씩 읽어 넘기는 Spliterator.
+ * 마지막 행을 읽었거나 스트림이 닫히면 ResultSet, PreparedStatement, Connection 을 한 번만 정리한다.
+ */
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+    private final ResultSet rs;
+    private final PreparedStatement pstmt;
+    private final Connection connection;
+    private final DataSource dataSource;
+    private final RowMapper<T> rowMapper;
+
+    private int rowNum;
+    private boolean closed;
+
+    ResultSetSpliterator(final ResultSet rs, final PreparedStatement pstmt, final Connection connection,
+                         final DataSource dataSource, final RowMapper<T> rowMapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.rs = rs;
+        this.pstmt = pstmt;
+        this.connection = connection;
+        this.dataSource = dataSource;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (!rs.next()) {
+                close();
+                return false;
+            }
+            action.accept(rowMapper.mapRow(rs, rowNum++));
+            return true;
+        } catch (SQLException e) {
+            close();
+            throw new DataAccessException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        JdbcUtils.closeResultSet(rs);
+        JdbcUtils.closeStatement(pstmt);
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+}
@@ -0,0 +1,10 @@
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowCallbackHandler {
+
+    void processRow(final ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,10 @@
+package org.springframework.jdbc.core;
+
+/**
+ * PreparedStatementCreator 가 구현하면 로그와 결과 캐시 무효화에 SQL 을 쓸 수 있다.
+ * 구현하지 않은 creator 로 쓰기를 실행하면 결과 캐시 전체가 무효화된다.
+ */
+public interface SqlProvider {
+
+    String getSql();
+}
@@ -0,0 +1,226 @@
+package org.springframework.jdbc.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.MpscArrayQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 요청 스레드는 큐에 넣기만 하고, 전용 스레드가 모아서 한 번에 쓴다. 배치 크기가 차거나 flush 간격이 지나면
+ * 모인 항목을 batchWriter 에 한 번 넘기므로, batchWriter 가 트랜잭션 안에서 batchUpdate 하면 배치당 커밋이 한 번이다.
+ * 큐가 가득 차면 생산자는 offerTimeout 만큼 기다리고, 그래도 자리가 없으면 예외를 던진다.
+ * close 는 진행 중인 write 가 끝나기를 기다린 뒤 큐에 남은 항목을 모두 쓰고 돌아온다. 예외 없이 돌아온 write 는 버려지지 않는다.
+ */
+public class WriteBehindWriter<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindWriter.class);
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 50;
+    private static final long DEFAULT_OFFER_TIMEOUT_MILLIS = 1000;
+    private static final long MIN_BACKOFF_NANOS = 1_000;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MpscArrayQueue<Entry<T>> queue;
+    private final Consumer<List<T>> batchWriter;
+    private final Thread writerThread;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger producers = new AtomicInteger();
+
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_INTERVAL_MILLIS);
+    private volatile long offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_OFFER_TIMEOUT_MILLIS);
+    private volatile boolean running = true;
+
+    public WriteBehindWriter(final String name, final int capacity, final Consumer<List<T>> batchWriter) {
+        this.queue = new MpscArrayQueue<>(capacity);
+        this.batchWriter = batchWriter;
+        this.writerThread = new Thread(this::run, name);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void write(final T item) {
+        enqueue(new Entry<>(item, null));
+    }
+
+    /**
+     * 항목이 담긴 배치가 쓰이면 완료되는 future 를 돌려준다. 배치가 실패하면 그 예외로 완료된다.
+     */
+    public CompletableFuture<Void> writeAndAcknowledge(final T item) {
+        final var acknowledgement = new CompletableFuture<Void>();
+        enqueue(new Entry<>(item, acknowledgement));
+        return acknowledgement;
+    }
+
+    // 생산자 수를 먼저 올리고 running 을 본다. close 는 running 을 내린 뒤 생산자 수를 보므로, 둘 중 하나는 반드시 상대를 본다.
+    private void enqueue(final Entry<T> entry) {
+        producers.incrementAndGet();
+        try {
+            if (!running) {
+                rejected.increment();
+                throw new IllegalStateException("WriteBehindWriter " + writerThread.getName() + " is closed");
+            }
+            if (!queue.offer(entry)) {
+                awaitCapacity(entry);
+            }
+            // 넣은 사이에 close 가 시작됐다면 close 가 이 항목까지 쓰도록 바로 깨운다. 배치 하나가 찼을 때도 마찬가지다.
+            if (!running || queue.size() >= maxBatchSize) {
+                LockSupport.unpark(writerThread);
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private void awaitCapacity(final Entry<T> entry) {
+        LockSupport.unpark(writerThread);
+        final long deadline = System.nanoTime() + offerTimeoutNanos;
+        long backoff = MIN_BACKOFF_NANOS;
+        while (!queue.offer(entry)) {
+            if (!running || System.nanoTime() - deadline >= 0) {
+                rejected.increment();
+                throw new DataAccessException("Write-behind queue is full. capacity : " + queue.capacity());
+            }
+            LockSupport.parkNanos(backoff);
+            backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+        }
+    }
+
+    private void run() {
+        final List<Entry<T>> batch = new ArrayList<>();
+        long batchStart = 0;
+        while (running || !queue.isEmpty()) {
+            final boolean wasEmpty = batch.isEmpty();
+            queue.drain(batch::add, maxBatchSize - batch.size());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            if (wasEmpty) {
+                batchStart = System.nanoTime();
+            }
+            final long waited = System.nanoTime() - batchStart;
+            if (batch.size() >= maxBatchSize || waited >= flushIntervalNanos || !running) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos - waited);
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(final List<Entry<T>> batch) {
+        final var items = new ArrayList<T>(batch.size());
+        for (final var entry : batch) {
+            items.add(entry.item);
+        }
+        try {
+            batchWriter.accept(items);
+        } catch (RuntimeException e) {
+            failed.add(items.size());
+            log.error("Write-behind batch of {} items failed", items.size(), e);
+            for (final var entry : batch) {
+                if (entry.acknowledgement != null) {
+                    entry.acknowledgement.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+        written.add(items.size());
+        flushes.increment();
+        for (final var entry : batch) {
+            if (entry.acknowledgement != null) {
+                entry.acknowledgement.complete(null);
+            }
+        }
+    }
+
+    public void setMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive. maxBatchSize : " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void setFlushIntervalMillis(final long flushIntervalMillis) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+    }
+
+    public void setOfferTimeoutMillis(final long offerTimeoutMillis) {
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, offerTimeoutMillis));
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // 새 항목을 막고, 이미 들어온 write 가 끝난 뒤 큐에 남은 항목을 모두 쓸 때까지 기다린다.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        while (producers.get() > 0) {
+            LockSupport.parkNanos(this, MIN_BACKOFF_NANOS);
+        }
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // 쓰기 스레드가 마지막으로 큐를 본 뒤에 들어온 항목이 남았을 수 있다. 쓰기 스레드가 끝났으므로 여기서 꺼내도 소비자는 하나다.
+        final List<Entry<T>> remaining = new ArrayList<>();
+        queue.drain(remaining::add, Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final T item;
+        private final CompletableFuture<Void> acknowledgement;
+
+        Entry(final T item, final CompletableFuture<Void> acknowledgement) {
+            this.item = item;
+            this.acknowledgement = acknowledgement;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.springframework.jdbc.core.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 캐시된 컬럼 값을 앞으로만 읽는 읽기 전용 ResultSet 으로 보여준다.
+ * RowMapper 가 쓰는 getter 와 메타데이터만 지원한다.
+ */
+final class CachedResultSet implements InvocationHandler {
+
+    private final String[] labels;
+    private final List<Object[]> rows;
+    private int cursor = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    private CachedResultSet(final String[] labels, final List<Object[]> rows) {
+        this.labels = labels;
+        this.rows = rows;
+    }
+
+    static ResultSet create(final String[] labels, final List<Object[]> rows) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new CachedResultSet(labels, rows));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final var methodName = method.getName();
+        switch (methodName) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "CachedResultSet{rows=" + rows.size() + ", cursor=" + cursor + '}';
+            case "next":
+                return ++cursor < rows.size();
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "wasNull":
+                return wasNull;
+            case "getRow":
+                return cursor + 1;
+            case "getMetaData":
+                return metaData();
+            case "findColumn":
+                return findColumn((String) args[0]);
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                throw new SQLException("CachedResultSet does not wrap " + args[0]);
+            case "isWrapperFor":
+                return ((Class<?>) args[0]).isInstance(proxy);
+            default:
+                break;
+        }
+        if (!methodName.startsWith("get") || args == null || args.length == 0) {
+            throw new SQLFeatureNotSupportedException("CachedResultSet does not support " + methodName);
+        }
+        final int column = args[0] instanceof String ? findColumn((String) args[0]) : (int) args[0];
+        final var value = value(column);
+        if (methodName.equals("getObject") && args.length == 2 && args[1] instanceof Class) {
+            return convert(value, (Class<?>) args[1]);
+        }
+        return convert(value, method.getReturnType());
+    }
+
+    private Object value(final int column) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("No current row");
+        }
+        if (column < 1 || column > labels.length) {
+            throw new SQLException("Invalid column index : " + column);
+        }
+        final var value = rows.get(cursor)[column - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private int findColumn(final String label) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column not found : " + label);
+    }
+
+    private static Object convert(final Object value, final Class<?> type) throws SQLException {
+        if (type.isPrimitive()) {
+            return convertPrimitive(value, type);
+        }
+        if (value == null || type == Object.class || type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            final var number = (Number) value;
+            if (type == Long.class) {
+                return number.longValue();
+            }
+            if (type == Integer.class) {
+                return number.intValue();
+            }
+            if (type == Double.class) {
+                return number.doubleValue();
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(number.toString());
+            }
+        }
+        if (value instanceof Timestamp) {
+            final var timestamp = (Timestamp) value;
+            if (type == LocalDateTime.class) {
+                return timestamp.toLocalDateTime();
+            }
+            if (type == LocalDate.class) {
+                return timestamp.toLocalDateTime().toLocalDate();
+            }
+        }
+        if (value instanceof Date && type == LocalDate.class) {
+            return ((Date) value).toLocalDate();
+        }
+        if (value instanceof Time && type == LocalTime.class) {
+            return ((Time) value).toLocalTime();
+        }
+        if (value instanceof LocalDateTime && type == Timestamp.class) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        if (value instanceof LocalDate && type == Date.class) {
+            return Date.valueOf((LocalDate) value);
+        }
+        throw new SQLException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    private static Object convertPrimitive(final Object value, final Class<?> type) throws SQLException {
+        if (type == boolean.class) {
+            if (value == null) {
+                return false;
+            }
+            if (value instanceof Boolean) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return ((Number) value).intValue() != 0;
+            }
+            return Boolean.parseBoolean(value.toString().trim().toLowerCase(Locale.ROOT));
+        }
+        final Number number;
+        if (value == null) {
+            number = 0;
+        } else if (value instanceof Number) {
+            number = (Number) value;
+        } else {
+            try {
+                number = new BigDecimal(value.toString().trim());
+            } catch (NumberFormatException e) {
+                throw new SQLException("Cannot convert " + value + " to " + type.getName(), e);
+            }
+        }
+        if (type == long.class) {
+            return number.longValue();
+        }
+        if (type == int.class) {
+            return number.intValue();
+        }
+        if (type == double.class) {
+            return number.doubleValue();
+        }
+        if (type == float.class) {
+            return number.floatValue();
+        }
+        if (type == short.class) {
+            return number.shortValue();
+        }
+        if (type == byte.class) {
+            return number.byteValue();
+        }
+        throw new SQLException("Cannot convert " + value + " to " + type.getName());
+    }
+
+    private ResultSetMetaData metaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return labels.length;
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return labels[(int) args[0] - 1];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "CachedResultSetMetaData";
+                        default:
+                            throw new SQLFeatureNotSupportedException(
+                                    "CachedResultSet metadata does not support " + method.getName());
+                    }
+                });
+    }
+}
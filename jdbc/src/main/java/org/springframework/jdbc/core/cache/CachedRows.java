@@ -0,0 +1,57 @@
+package org.springframework.jdbc.core.cache;
+
+import org.springframework.jdbc.core.BindableRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐시에 담기는 조회 결과. 매핑된 객체가 아니라 컬럼 값을 보관하므로
+ * 캐시 적중 때마다 RowMapper 가 새 객체를 만들고, 호출자가 결과를 바꿔도 캐시는 오염되지 않는다.
+ */
+public final class CachedRows {
+
+    private final String[] labels;
+    private final List<Object[]> rows;
+
+    private CachedRows(final String[] labels, final List<Object[]> rows) {
+        this.labels = labels;
+        this.rows = rows;
+    }
+
+    public static CachedRows extract(final ResultSet rs) throws SQLException {
+        final var metaData = rs.getMetaData();
+        final var columnCount = metaData.getColumnCount();
+        final var labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        final var rows = new ArrayList<Object[]>();
+        while (rs.next()) {
+            final var row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+        }
+        return new CachedRows(labels, rows);
+    }
+
+    public <T> List<T> map(final String sql, final RowMapper<T> rowMapper) throws SQLException {
+        final var rs = CachedResultSet.create(labels, rows);
+        final var mapper = BindableRowMapper.resolve(rowMapper, sql, rs);
+        final var results = new ArrayList<T>(rows.size());
+        int rowNum = 0;
+        while (rs.next()) {
+            results.add(mapper.mapRow(rs, rowNum++));
+        }
+        return results;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+}
@@ -0,0 +1,71 @@
+package org.springframework.jdbc.core.cache;
+
+/**
+ * 4비트 카운터를 쓰는 count-min sketch. 키의 최근 접근 빈도를 근사한다.
+ * 증가 횟수가 표본 크기에 이르면 모든 카운터를 절반으로 줄여 오래된 인기도가 사라지게 한다.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(final int maximumSize) {
+        final int length = Integer.highestOneBit(Math.max(16, maximumSize - 1) << 1);
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = Math.max(10 * maximumSize, 160);
+    }
+
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            final long probe = probe(hash, depth);
+            final int index = (int) (probe >>> 4) & tableMask;
+            final int shift = (int) (probe & 15) << 2;
+            frequency = Math.min(frequency, (int) ((table[index] >>> shift) & 15));
+        }
+        return frequency;
+    }
+
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            final long probe = probe(hash, depth);
+            final int index = (int) (probe >>> 4) & tableMask;
+            final int shift = (int) (probe & 15) << 2;
+            if (((table[index] >>> shift) & 15) < MAXIMUM_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long probe(final int hash, final int depth) {
+        final long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        return h ^ (h >>> 32);
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
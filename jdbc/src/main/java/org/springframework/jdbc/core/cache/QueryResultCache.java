@@ -0,0 +1,259 @@
+package org.springframework.jdbc.core.cache;
+
+import org.springframework.jdbc.support.BoundedConcurrentCache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SQL 과 파라미터를 키로 조회 결과를 보관하는 캐시.
+ * 테이블마다 버전을 두고, 쓰기 문이 실행되면 그 테이블의 버전을 올려 해당 테이블을 읽은 항목을 모두 무효로 만든다.
+ * 항목은 조회를 시작하기 전의 버전을 기록하므로 조회 도중 일어난 쓰기도 놓치지 않는다.
+ */
+public class QueryResultCache {
+
+    private static final int DEFAULT_MAXIMUM_ROWS_PER_ENTRY = 1_000;
+    private static final int SQL_CACHE_LIMIT = 256;
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final WindowTinyLfuPolicy<Key> policy;
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final BoundedConcurrentCache<String, SqlTables> sqlTables = new BoundedConcurrentCache<>(SQL_CACHE_LIMIT);
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private volatile int maximumRowsPerEntry = DEFAULT_MAXIMUM_ROWS_PER_ENTRY;
+
+    public QueryResultCache(final int maximumSize, final long timeToLive, final TimeUnit unit) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive. maximumSize : " + maximumSize);
+        }
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("timeToLive must be positive. timeToLive : " + timeToLive);
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.policy = new WindowTinyLfuPolicy<>(maximumSize);
+    }
+
+    /**
+     * 캐시할 수 있는 읽기 문이면 키를, 아니면 null 을 반환한다.
+     */
+    public Key createKey(final String sql, final Object[] args) {
+        final var tables = sqlTables.get(sql, SqlTables::parse);
+        if (!tables.isRead() || tables.getTables().length == 0) {
+            return null;
+        }
+        return new Key(sql, args.clone(), tables.getTables());
+    }
+
+    public CachedRows get(final Key key) {
+        final var entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            remove(key, entry);
+            expirationCount.increment();
+            missCount.increment();
+            return null;
+        }
+        if (!Arrays.equals(entry.versions, currentVersions(key))) {
+            remove(key, entry);
+            invalidationCount.increment();
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        recordAccess(key);
+        return entry.rows;
+    }
+
+    // 읽기 경로에서는 잠금을 기다리지 않는다. 경합 중에 빠진 접근 기록은 빈도 근사에 거의 영향이 없다.
+    private void recordAccess(final Key key) {
+        if (policyLock.tryLock()) {
+            try {
+                policy.onAccess(key);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 조회를 실행하기 전에 호출해 키가 읽는 테이블들의 현재 버전을 얻는다.
+     */
+    public long[] currentVersions(final Key key) {
+        final var versions = new long[key.tables.length + 1];
+        versions[0] = globalVersion.get();
+        for (int i = 0; i < key.tables.length; i++) {
+            versions[i + 1] = versionOf(key.tables[i]).get();
+        }
+        return versions;
+    }
+
+    private AtomicLong versionOf(final String table) {
+        final var version = tableVersions.get(table);
+        if (version != null) {
+            return version;
+        }
+        return tableVersions.computeIfAbsent(table, ignored -> new AtomicLong());
+    }
+
+    public void put(final Key key, final long[] versions, final CachedRows rows) {
+        if (rows.size() > maximumRowsPerEntry || !Arrays.equals(versions, currentVersions(key))) {
+            return;
+        }
+        final var entry = new Entry(rows, versions, System.nanoTime() + timeToLiveNanos);
+        policyLock.lock();
+        try {
+            entries.put(key, entry);
+            final var victim = policy.onInsert(key);
+            if (victim != null) {
+                entries.remove(victim);
+                evictionCount.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void remove(final Key key, final Entry entry) {
+        policyLock.lock();
+        try {
+            if (entries.remove(key, entry)) {
+                policy.onRemove(key);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 쓰기 문이면 그 문이 건드린 테이블을 무효화하고 true 를 반환한다. 테이블을 알아낼 수 없는 쓰기는 전체를 무효화한다.
+     */
+    public boolean invalidate(final String sql) {
+        final var tables = sqlTables.get(sql, SqlTables::parse);
+        if (tables.isRead()) {
+            return false;
+        }
+        if (tables.getTables().length == 0) {
+            invalidateAll();
+            return true;
+        }
+        for (final var table : tables.getTables()) {
+            versionOf(table).incrementAndGet();
+        }
+        return true;
+    }
+
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+    }
+
+    public void clear() {
+        policyLock.lock();
+        try {
+            entries.clear();
+            policy.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void setMaximumRowsPerEntry(final int maximumRowsPerEntry) {
+        this.maximumRowsPerEntry = maximumRowsPerEntry;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirationCount.sum();
+    }
+
+    public static final class Key {
+
+        private final String sql;
+        private final Object[] args;
+        private final String[] tables;
+        private final int hash;
+
+        private Key(final String sql, final Object[] args, final String[] tables) {
+            this.sql = sql;
+            this.args = args;
+            this.tables = tables;
+            this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final var that = (Key) o;
+            return hash == that.hash && sql.equals(that.sql) && Arrays.deepEquals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{sql='" + sql + "', args=" + Arrays.deepToString(args) + '}';
+        }
+    }
+
+    private static final class Entry {
+
+        private final CachedRows rows;
+        private final long[] versions;
+        private final long expiresAtNanos;
+
+        private Entry(final CachedRows rows, final long[] versions, final long expiresAtNanos) {
+            this.rows = rows;
+            this.versions = versions;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.springframework.jdbc.core.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * SQL 문이 읽거나 쓰는 테이블 이름을 뽑아낸다.
+ * 완전한 파서가 아니므로 테이블을 알아내지 못한 읽기는 캐시하지 않고, 알아내지 못한 쓰기는 캐시 전체를 무효화한다.
+ */
+final class SqlTables {
+
+    private static final Set<String> READ_COMMANDS = Set.of("select", "with", "values", "table");
+    private static final Set<String> TABLE_PREFIXES = Set.of("from", "join", "into", "update", "table");
+    private static final Set<String> NON_TABLE_WORDS = Set.of(
+            "if", "not", "exists", "only", "lateral", "select", "where", "set", "values", "on", "using");
+
+    private final boolean read;
+    private final String[] tables;
+
+    private SqlTables(final boolean read, final String[] tables) {
+        this.read = read;
+        this.tables = tables;
+    }
+
+    static SqlTables parse(final String sql) {
+        final var tokens = tokenize(sql);
+        if (tokens.isEmpty()) {
+            return new SqlTables(false, new String[0]);
+        }
+        final var read = READ_COMMANDS.contains(tokens.get(0)) && !tokens.contains("for");
+        final Set<String> tables = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            if (!TABLE_PREFIXES.contains(tokens.get(i))) {
+                continue;
+            }
+            int next = i + 1;
+            while (next < tokens.size() && NON_TABLE_WORDS.contains(tokens.get(next))) {
+                next++;
+            }
+            next = addTable(tokens, next, tables);
+            // from a, b 처럼 쉼표로 나열된 테이블
+            while (next + 1 < tokens.size() && ",".equals(tokens.get(next))) {
+                next = addTable(tokens, next + 1, tables);
+            }
+        }
+        return new SqlTables(read, tables.toArray(new String[0]));
+    }
+
+    private static int addTable(final List<String> tokens, final int index, final Set<String> tables) {
+        if (index >= tokens.size() || !isIdentifier(tokens.get(index))) {
+            return index;
+        }
+        final var name = tokens.get(index);
+        tables.add(name.substring(name.lastIndexOf('.') + 1));
+        int next = index + 1;
+        if (next < tokens.size() && "as".equals(tokens.get(next))) {
+            next++;
+        }
+        if (next < tokens.size() && isIdentifier(tokens.get(next)) && !isKeyword(tokens.get(next))) {
+            next++;
+        }
+        return next;
+    }
+
+    private static boolean isIdentifier(final String token) {
+        final var first = token.charAt(0);
+        return (Character.isLetter(first) || first == '_') && !NON_TABLE_WORDS.contains(token);
+    }
+
+    private static boolean isKeyword(final String token) {
+        switch (token) {
+            case "where":
+            case "join":
+            case "inner":
+            case "left":
+            case "right":
+            case "full":
+            case "cross":
+            case "on":
+            case "group":
+            case "order":
+            case "having":
+            case "limit":
+            case "offset":
+            case "union":
+            case "set":
+            case "values":
+            case "select":
+            case "natural":
+            case "fetch":
+            case "for":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static List<String> tokenize(final String sql) {
+        final var tokens = new ArrayList<String>();
+        final int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+            } else if (c == '"' || c == '`') {
+                final int end = skipQuoted(sql, i, c);
+                tokens.add(sql.substring(i + 1, Math.max(i + 1, end - 1)).toLowerCase(Locale.ROOT));
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                final int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                final int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                tokens.add(sql.substring(i, end).toLowerCase(Locale.ROOT));
+                i = end;
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$';
+    }
+
+    private static int skipQuoted(final String sql, final int start, final char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    boolean isRead() {
+        return read;
+    }
+
+    String[] getTables() {
+        return tables;
+    }
+}
@@ -0,0 +1,209 @@
+package org.springframework.jdbc.core.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * W-TinyLFU 교체 정책. 새 항목은 작은 LRU 윈도우로 들어가고,
+ * 윈도우에서 밀려난 후보는 빈도 sketch 로 메인 영역(SLRU)의 희생자와 비교해 더 자주 쓰인 쪽만 남는다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 잠금을 잡아야 한다.
+ */
+final class WindowTinyLfuPolicy<K> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final FrequencySketch sketch;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private final Deque<K> window = new Deque<>();
+    private final Deque<K> probation = new Deque<>();
+    private final Deque<K> protectedDeque = new Deque<>();
+
+    WindowTinyLfuPolicy(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * 새 키를 기록하고, 크기를 넘었다면 내보낼 키를 반환한다.
+     */
+    K onInsert(final K key) {
+        sketch.increment(key);
+        if (nodes.containsKey(key)) {
+            onAccess(key, false);
+            return null;
+        }
+        final var node = new Node<>(key, WINDOW);
+        nodes.put(key, node);
+        window.addLast(node);
+        if (window.size > windowMaximum) {
+            final var candidate = window.removeFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+            if (nodes.size() > maximumSize) {
+                return evict(selectVictim(candidate));
+            }
+        }
+        if (nodes.size() > maximumSize) {
+            return evict(firstOf(probation, protectedDeque, window));
+        }
+        return null;
+    }
+
+    private Node<K> selectVictim(final Node<K> candidate) {
+        final var victim = probation.first();
+        if (victim == candidate) {
+            return candidate;
+        }
+        return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+    }
+
+    @SafeVarargs
+    private Node<K> firstOf(final Deque<K>... deques) {
+        for (final var deque : deques) {
+            if (deque.size > 0) {
+                return deque.first();
+            }
+        }
+        throw new IllegalStateException("policy is empty");
+    }
+
+    private K evict(final Node<K> victim) {
+        remove(victim);
+        return victim.key;
+    }
+
+    void onAccess(final K key) {
+        onAccess(key, true);
+    }
+
+    private void onAccess(final K key, final boolean count) {
+        if (count) {
+            sketch.increment(key);
+        }
+        final var node = nodes.get(key);
+        if (node == null) {
+            return;
+        }
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROTECTED) {
+            protectedDeque.moveToLast(node);
+        } else {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedDeque.addLast(node);
+            if (protectedDeque.size > protectedMaximum) {
+                final var demoted = protectedDeque.removeFirst();
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        }
+    }
+
+    void onRemove(final K key) {
+        final var node = nodes.get(key);
+        if (node != null) {
+            remove(node);
+        }
+    }
+
+    private void remove(final Node<K> node) {
+        nodes.remove(node.key);
+        dequeOf(node).remove(node);
+    }
+
+    private Deque<K> dequeOf(final Node<K> node) {
+        if (node.queue == WINDOW) {
+            return window;
+        }
+        return node.queue == PROBATION ? probation : protectedDeque;
+    }
+
+    void clear() {
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedDeque.clear();
+    }
+
+    private static final class Node<K> {
+
+        private final K key;
+        private int queue;
+        private Node<K> previous;
+        private Node<K> next;
+
+        private Node(final K key, final int queue) {
+            this.key = key;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * 노드에 링크를 내장한 이중 연결 리스트. 앞쪽이 가장 오래 쓰이지 않은 항목이다.
+     */
+    private static final class Deque<K> {
+
+        private Node<K> head;
+        private Node<K> tail;
+        private int size;
+
+        private Node<K> first() {
+            return head;
+        }
+
+        private void addLast(final Node<K> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private Node<K> removeFirst() {
+            final var node = head;
+            remove(node);
+            return node;
+        }
+
+        private void moveToLast(final Node<K> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void remove(final Node<K> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
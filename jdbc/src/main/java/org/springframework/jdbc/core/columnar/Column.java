@@ -0,0 +1,43 @@
+package org.springframework.jdbc.core.columnar;
+
+import java.util.BitSet;
+
+/**
+ * ColumnarResult 의 한 컬럼. 값은 타입별 기본형 배열에, NULL 여부는 비트셋에 따로 담는다.
+ */
+public abstract class Column {
+
+    private final String name;
+    private final int size;
+    private final BitSet nulls;
+
+    Column(final String name, final int size, final BitSet nulls) {
+        this.name = name;
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * NULL 이 아닌 행. 필터 결과와 and 해서 NULL 을 걸러낼 때 쓴다.
+     */
+    public BitSet notNull() {
+        final var selection = new BitSet(size);
+        selection.set(0, size);
+        selection.andNot(nulls);
+        return selection;
+    }
+
+    public abstract Object getObject(int row);
+}
@@ -0,0 +1,246 @@
+package org.springframework.jdbc.core.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조회 결과를 행 객체 대신 컬럼별 기본형 배열로 읽는다. 집계용 조회에서 행마다 객체를 만들지 않는다.
+ * 필터는 행 번호 비트셋을 돌려주므로 and/or 로 조합한 뒤 컬럼의 집계 메서드에 넘긴다.
+ */
+public final class ColumnarResult {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int rowCount;
+    private final Map<String, Column> columns;
+
+    private ColumnarResult(final int rowCount, final Map<String, Column> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public static ColumnarResult extract(final ResultSet rs) throws SQLException {
+        final var metaData = rs.getMetaData();
+        final int columnCount = metaData.getColumnCount();
+        final var builders = new ColumnBuilder[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            builders[i] = ColumnBuilder.of(metaData.getColumnLabel(i + 1).toLowerCase(), metaData.getColumnType(i + 1));
+        }
+        int rowCount = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                builders[i].read(rs, i + 1, rowCount);
+            }
+            rowCount++;
+        }
+        final var columns = new LinkedHashMap<String, Column>();
+        for (final var builder : builders) {
+            columns.put(builder.name, builder.build(rowCount));
+        }
+        return new ColumnarResult(rowCount, Collections.unmodifiableMap(columns));
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getColumnNames() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /**
+     * 컬럼 라벨은 대소문자를 가리지 않는다.
+     */
+    public Column getColumn(final String name) {
+        final var column = columns.get(name.toLowerCase());
+        if (column == null) {
+            throw new IllegalArgumentException("No column named " + name + ". columns : " + columns.keySet());
+        }
+        return column;
+    }
+
+    public LongColumn getLongColumn(final String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    public DoubleColumn getDoubleColumn(final String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    public StringColumn getStringColumn(final String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    private <T extends Column> T getColumn(final String name, final Class<T> type) {
+        final var column = getColumn(name);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException(
+                    "Column " + name + " is " + column.getClass().getSimpleName() + ", not " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    public BitSet allRows() {
+        final var selection = new BitSet(rowCount);
+        selection.set(0, rowCount);
+        return selection;
+    }
+
+    private abstract static class ColumnBuilder {
+
+        final String name;
+        final BitSet nulls = new BitSet();
+
+        ColumnBuilder(final String name) {
+            this.name = name;
+        }
+
+        static ColumnBuilder of(final String name, final int sqlType) {
+            switch (sqlType) {
+                case Types.BIGINT:
+                case Types.INTEGER:
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                case Types.BOOLEAN:
+                case Types.BIT:
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                    return new LongColumnBuilder(name, sqlType);
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return new DoubleColumnBuilder(name);
+                default:
+                    return new StringColumnBuilder(name);
+            }
+        }
+
+        abstract void read(ResultSet rs, int columnIndex, int row) throws SQLException;
+
+        abstract Column build(int size);
+    }
+
+    private static class LongColumnBuilder extends ColumnBuilder {
+
+        private final int sqlType;
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        LongColumnBuilder(final String name, final int sqlType) {
+            super(name);
+            this.sqlType = sqlType;
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, row + (row >> 1));
+            }
+            final long value = readLong(rs, columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            } else {
+                values[row] = value;
+            }
+        }
+
+        private long readLong(final ResultSet rs, final int columnIndex) throws SQLException {
+            switch (sqlType) {
+                case Types.BOOLEAN:
+                case Types.BIT:
+                    return rs.getBoolean(columnIndex) ? 1 : 0;
+                case Types.DATE: {
+                    final var date = rs.getObject(columnIndex, LocalDate.class);
+                    return date == null ? 0 : date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+                }
+                case Types.TIMESTAMP: {
+                    final var dateTime = rs.getObject(columnIndex, LocalDateTime.class);
+                    return dateTime == null ? 0 : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+                }
+                default:
+                    return rs.getLong(columnIndex);
+            }
+        }
+
+        @Override
+        Column build(final int size) {
+            return new LongColumn(name, values, size, nulls);
+        }
+    }
+
+    private static class DoubleColumnBuilder extends ColumnBuilder {
+
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        DoubleColumnBuilder(final String name) {
+            super(name);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, row + (row >> 1));
+            }
+            final double value = rs.getDouble(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            } else {
+                values[row] = value;
+            }
+        }
+
+        @Override
+        Column build(final int size) {
+            return new DoubleColumn(name, values, size, nulls);
+        }
+    }
+
+    private static class StringColumnBuilder extends ColumnBuilder {
+
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] codes = new int[INITIAL_CAPACITY];
+
+        StringColumnBuilder(final String name) {
+            super(name);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int row) throws SQLException {
+            if (row == codes.length) {
+                codes = Arrays.copyOf(codes, row + (row >> 1));
+            }
+            final var value = rs.getString(columnIndex);
+            if (value == null) {
+                nulls.set(row);
+                codes[row] = -1;
+                return;
+            }
+            var code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codesByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        Column build(final int size) {
+            return new StringColumn(name, codes, size, nulls, dictionary.toArray(new String[0]), codesByValue);
+        }
+    }
+}
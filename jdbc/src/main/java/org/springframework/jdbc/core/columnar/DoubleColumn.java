@@ -0,0 +1,58 @@
+package org.springframework.jdbc.core.columnar;
+
+import java.util.BitSet;
+import java.util.function.DoublePredicate;
+
+/**
+ * 실수와 DECIMAL 컬럼. DECIMAL 도 double 로 읽으므로 정확한 금액 계산에는 쓰지 않는다.
+ */
+public class DoubleColumn extends Column {
+
+    private final double[] values;
+
+    DoubleColumn(final String name, final double[] values, final int size, final BitSet nulls) {
+        super(name, size, nulls);
+        this.values = values;
+    }
+
+    public double get(final int row) {
+        return values[row];
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    public BitSet filter(final DoublePredicate predicate) {
+        final var selection = new BitSet(size());
+        for (int row = 0; row < size(); row++) {
+            if (predicate.test(values[row]) && !isNull(row)) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    public double sum(final BitSet selection) {
+        double sum = 0;
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                sum += values[row];
+            }
+        }
+        return sum;
+    }
+
+    public double average(final BitSet selection) {
+        double sum = 0;
+        int count = 0;
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                sum += values[row];
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+}
@@ -0,0 +1,95 @@
+package org.springframework.jdbc.core.columnar;
+
+import org.springframework.jdbc.support.LongLongMap;
+
+import java.util.BitSet;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 정수, 불리언, 날짜와 시각 컬럼. 날짜와 시각은 시간대 없이 벽시계 시각을 UTC 로 본 epoch 밀리초로 담는다.
+ * NULL 인 행의 값은 0 이며 집계에서는 빠진다.
+ */
+public class LongColumn extends Column {
+
+    private final long[] values;
+
+    LongColumn(final String name, final long[] values, final int size, final BitSet nulls) {
+        super(name, size, nulls);
+        this.values = values;
+    }
+
+    public long get(final int row) {
+        return values[row];
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    public BitSet filter(final LongPredicate predicate) {
+        final var selection = new BitSet(size());
+        for (int row = 0; row < size(); row++) {
+            if (predicate.test(values[row]) && !isNull(row)) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    // 람다 호출 없이 비교만 하는 범위 필터. 양 끝을 포함한다.
+    public BitSet between(final long from, final long to) {
+        final var selection = new BitSet(size());
+        for (int row = 0; row < size(); row++) {
+            final long value = values[row];
+            if (value >= from && value <= to && !isNull(row)) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    public long sum(final BitSet selection) {
+        long sum = 0;
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                sum += values[row];
+            }
+        }
+        return sum;
+    }
+
+    public long min(final BitSet selection) {
+        long min = Long.MAX_VALUE;
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                min = Math.min(min, values[row]);
+            }
+        }
+        return min;
+    }
+
+    public long max(final BitSet selection) {
+        long max = Long.MIN_VALUE;
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                max = Math.max(max, values[row]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * keyFunction 으로 바꾼 값별 행 수. 예를 들어 시각 컬럼을 일 단위로 묶을 때 쓴다.
+     */
+    public LongLongMap countBy(final BitSet selection, final LongUnaryOperator keyFunction) {
+        final var counts = new LongLongMap();
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            if (!isNull(row)) {
+                counts.addTo(keyFunction.applyAsLong(values[row]), 1);
+            }
+        }
+        return counts;
+    }
+}
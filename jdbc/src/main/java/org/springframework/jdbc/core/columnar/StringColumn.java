@@ -0,0 +1,83 @@
+package org.springframework.jdbc.core.columnar;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사전 인코딩한 문자열 컬럼. 서로 다른 값마다 String 을 하나만 두고 행에는 사전 번호만 담는다.
+ * created_by 처럼 값의 종류가 적은 컬럼일수록 메모리가 줄고, 비교도 int 비교가 된다.
+ */
+public class StringColumn extends Column {
+
+    private static final int NULL_CODE = -1;
+
+    private final int[] codes;
+    private final String[] dictionary;
+    private final Map<String, Integer> codesByValue;
+
+    StringColumn(final String name, final int[] codes, final int size, final BitSet nulls,
+                 final String[] dictionary, final Map<String, Integer> codesByValue) {
+        super(name, size, nulls);
+        this.codes = codes;
+        this.dictionary = dictionary;
+        this.codesByValue = codesByValue;
+    }
+
+    public String get(final int row) {
+        final int code = codes[row];
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        return get(row);
+    }
+
+    public int getCode(final int row) {
+        return codes[row];
+    }
+
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+
+    public String decode(final int code) {
+        return dictionary[code];
+    }
+
+    public BitSet equalTo(final String value) {
+        final var selection = new BitSet(size());
+        final var code = codesByValue.get(value);
+        if (code == null) {
+            return selection;
+        }
+        for (int row = 0; row < size(); row++) {
+            if (codes[row] == code) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * 선택된 행을 값별로 센다. 사전 번호를 인덱스로 쓰는 배열에 세므로 해시 조회가 없다.
+     * 결과는 사전에 처음 나온 순서이다.
+     */
+    public Map<String, Long> countByValue(final BitSet selection) {
+        final var counts = new long[dictionary.length];
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            final int code = codes[row];
+            if (code != NULL_CODE) {
+                counts[code]++;
+            }
+        }
+        final var result = new LinkedHashMap<String, Long>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(dictionary[code], counts[code]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package org.springframework.jdbc.core.namedparam;
+
+import org.springframework.dao.DataAccessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * getter 로 파라미터 값을 꺼낸다. 클래스마다 getter MethodHandle 을 한 번만 찾아 ClassValue 에 둔다.
+ * 파라미터 이름은 대소문자와 밑줄을 무시하고 프로퍼티 이름과 맞춘다. (:user_id -> getUserId)
+ * 맞춘 결과는 SQL 에 적힌 이름 그대로 기억해, 같은 이름을 다시 찾을 때는 문자열을 만들지 않는다.
+ */
+public class BeanPropertySqlParameterSource implements SqlParameterSource {
+
+    private static final ClassValue<Getters> GETTERS = new ClassValue<>() {
+        @Override
+        protected Getters computeValue(final Class<?> type) {
+            return new Getters(findGetters(type));
+        }
+    };
+
+    private final Object bean;
+    private final Getters getters;
+
+    public BeanPropertySqlParameterSource(final Object bean) {
+        this.bean = bean;
+        this.getters = GETTERS.get(bean.getClass());
+    }
+
+    @Override
+    public boolean hasValue(final String paramName) {
+        return getters.find(paramName) != null;
+    }
+
+    @Override
+    public Object getValue(final String paramName) {
+        final var getter = getters.find(paramName);
+        if (getter == null) {
+            throw new IllegalArgumentException("No property '" + paramName + "' on " + bean.getClass().getName());
+        }
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    private static Map<String, MethodHandle> findGetters(final Class<?> type) {
+        final var getters = new HashMap<String, MethodHandle>();
+        try {
+            final var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (final var method : type.getMethods()) {
+                final var propertyName = propertyName(method);
+                if (propertyName != null) {
+                    getters.put(normalize(propertyName), lookup.unreflect(method)
+                            .asType(MethodType.methodType(Object.class, Object.class)));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new DataAccessException("Cannot access " + type.getName(), e);
+        }
+        return Collections.unmodifiableMap(getters);
+    }
+
+    private static String propertyName(final Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        final var name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return name.substring(3);
+        }
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+            return name.substring(2);
+        }
+        return null;
+    }
+
+    private static String normalize(final String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Getters {
+
+        private final Map<String, MethodHandle> byProperty;
+        private final Map<String, MethodHandle> byParamName = new ConcurrentHashMap<>();
+
+        private Getters(final Map<String, MethodHandle> byProperty) {
+            this.byProperty = byProperty;
+        }
+
+        // 없는 이름은 기억하지 않는다. 잘못된 이름으로 맵이 커지지 않게 하기 위해서다.
+        private MethodHandle find(final String paramName) {
+            final var cached = byParamName.get(paramName);
+            if (cached != null) {
+                return cached;
+            }
+            final var getter = byProperty.get(normalize(paramName));
+            if (getter != null) {
+                byParamName.putIfAbsent(paramName, getter);
+            }
+            return getter;
+        }
+    }
+}
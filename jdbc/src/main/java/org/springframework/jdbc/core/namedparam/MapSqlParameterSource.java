@@ -0,0 +1,40 @@
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class MapSqlParameterSource implements SqlParameterSource {
+
+    private final Map<String, Object> values;
+
+    public MapSqlParameterSource() {
+        this.values = new HashMap<>();
+    }
+
+    public MapSqlParameterSource(final Map<String, ?> values) {
+        this.values = new HashMap<>(values);
+    }
+
+    public MapSqlParameterSource(final String paramName, final Object value) {
+        this();
+        addValue(paramName, value);
+    }
+
+    public MapSqlParameterSource addValue(final String paramName, final Object value) {
+        values.put(paramName, value);
+        return this;
+    }
+
+    @Override
+    public boolean hasValue(final String paramName) {
+        return values.containsKey(paramName);
+    }
+
+    @Override
+    public Object getValue(final String paramName) {
+        if (!hasValue(paramName)) {
+            throw new IllegalArgumentException("No value registered for key '" + paramName + "'");
+        }
+        return values.get(paramName);
+    }
+}
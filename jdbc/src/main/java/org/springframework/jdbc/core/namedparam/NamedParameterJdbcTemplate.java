@@ -0,0 +1,134 @@
+package org.springframework.jdbc.core.namedparam;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.KeyHolder;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.BoundedConcurrentCache;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * :name 형태의 파라미터를 ? 로 바꿔 JdbcTemplate 에 넘긴다. 파싱 결과는 SQL 문자열별로 캐시한다.
+ */
+public class NamedParameterJdbcTemplate {
+
+    private static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoundedConcurrentCache<String, ParsedSql> parsedSqlCache;
+
+    public NamedParameterJdbcTemplate(final DataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    public NamedParameterJdbcTemplate(final JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, DEFAULT_CACHE_LIMIT);
+    }
+
+    public NamedParameterJdbcTemplate(final JdbcTemplate jdbcTemplate, final int cacheLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parsedSqlCache = new BoundedConcurrentCache<>(cacheLimit);
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public int update(final String sql, final Map<String, ?> paramMap) {
+        return update(sql, new MapSqlParameterSource(paramMap));
+    }
+
+    public int update(final String sql, final SqlParameterSource paramSource) {
+        final var parsedSql = getParsedSql(sql);
+        final var values = NamedParameterUtils.resolveValues(parsedSql, paramSource);
+        return jdbcTemplate.update(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, values),
+                NamedParameterUtils.buildValueArray(parsedSql, values));
+    }
+
+    public int update(final String sql, final SqlParameterSource paramSource, final KeyHolder keyHolder) {
+        final var parsedSql = getParsedSql(sql);
+        final var values = NamedParameterUtils.resolveValues(parsedSql, paramSource);
+        return jdbcTemplate.update(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, values),
+                new ArgumentPreparedStatementSetter(NamedParameterUtils.buildValueArray(parsedSql, values)),
+                keyHolder);
+    }
+
+    public int[] batchUpdate(final String sql, final SqlParameterSource[] batchArgs) {
+        return batchUpdate(sql, batchArgs, null);
+    }
+
+    /**
+     * 모든 행이 같은 SQL 로 펼쳐져야 한다. IN 목록의 패딩 크기가 행마다 다르면 IllegalArgumentException 을 던진다.
+     * keyHolder 가 있으면 batchArgs 순서대로 생성된 키를 담는다.
+     */
+    public int[] batchUpdate(final String sql, final SqlParameterSource[] batchArgs, final KeyHolder keyHolder) {
+        if (batchArgs.length == 0) {
+            return new int[0];
+        }
+        final var parsedSql = getParsedSql(sql);
+        final var batchValues = new ArrayList<Object[]>(batchArgs.length);
+        String jdbcSql = null;
+        for (int i = 0; i < batchArgs.length; i++) {
+            final var values = NamedParameterUtils.resolveValues(parsedSql, batchArgs[i]);
+            final var rowSql = NamedParameterUtils.substituteNamedParameters(parsedSql, values);
+            if (jdbcSql == null) {
+                jdbcSql = rowSql;
+            } else if (!jdbcSql.equals(rowSql)) {
+                throw new IllegalArgumentException("Every batch row must expand to the same SQL, "
+                        + "but row " + i + " pads its IN lists differently from row 0. row 0 : " + jdbcSql + ", row " + i + " : " + rowSql);
+            }
+            batchValues.add(NamedParameterUtils.buildValueArray(parsedSql, values));
+        }
+        return jdbcTemplate.batchUpdate(jdbcSql, batchValues, keyHolder);
+    }
+
+    public <T> List<T> query(final String sql, final Map<String, ?> paramMap, final RowMapper<T> rowMapper) {
+        return query(sql, new MapSqlParameterSource(paramMap), rowMapper);
+    }
+
+    public <T> List<T> query(final String sql, final SqlParameterSource paramSource, final RowMapper<T> rowMapper) {
+        final var parsedSql = getParsedSql(sql);
+        final var values = NamedParameterUtils.resolveValues(parsedSql, paramSource);
+        return jdbcTemplate.query(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, values),
+                rowMapper,
+                NamedParameterUtils.buildValueArray(parsedSql, values));
+    }
+
+    public <T> T queryForObject(final String sql, final Map<String, ?> paramMap, final RowMapper<T> rowMapper) {
+        return queryForObject(sql, new MapSqlParameterSource(paramMap), rowMapper);
+    }
+
+    public <T> T queryForObject(final String sql, final SqlParameterSource paramSource, final RowMapper<T> rowMapper) {
+        final var parsedSql = getParsedSql(sql);
+        final var values = NamedParameterUtils.resolveValues(parsedSql, paramSource);
+        return jdbcTemplate.queryForObject(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, values),
+                rowMapper,
+                NamedParameterUtils.buildValueArray(parsedSql, values));
+    }
+
+    public <T> Stream<T> queryForStream(final String sql, final Map<String, ?> paramMap, final RowMapper<T> rowMapper) {
+        return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
+    }
+
+    public <T> Stream<T> queryForStream(final String sql, final SqlParameterSource paramSource, final RowMapper<T> rowMapper) {
+        final var parsedSql = getParsedSql(sql);
+        final var values = NamedParameterUtils.resolveValues(parsedSql, paramSource);
+        return jdbcTemplate.queryForStream(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, values),
+                rowMapper,
+                NamedParameterUtils.buildValueArray(parsedSql, values));
+    }
+
+    public ParsedSql getParsedSql(final String sql) {
+        return parsedSqlCache.get(sql, NamedParameterUtils::parseSqlStatement);
+    }
+}
@@ -0,0 +1,198 @@
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public abstract class NamedParameterUtils {
+
+    private NamedParameterUtils() {}
+
+    /**
+     * :name 형태의 파라미터를 찾는다. 따옴표 안의 문자열과 주석, :: 캐스트는 건너뛴다.
+     */
+    public static ParsedSql parseSqlStatement(final String sql) {
+        final var parameterNames = new ArrayList<String>();
+        final var startIndexes = new ArrayList<Integer>();
+        final var endIndexes = new ArrayList<Integer>();
+        final int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipUntil(sql, i + 2, "\n");
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipUntil(sql, i + 2, "*/");
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                i += 2;
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                parameterNames.add(sql.substring(i + 1, end));
+                startIndexes.add(i);
+                endIndexes.add(end);
+                i = end;
+            } else if (c == '?') {
+                throw new IllegalArgumentException("Positional parameter '?' cannot be mixed with named parameters : " + sql);
+            } else {
+                i++;
+            }
+        }
+        return new ParsedSql(sql, parameterNames, toArray(startIndexes), toArray(endIndexes));
+    }
+
+    private static int skipQuoted(final String sql, final int start, final char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipUntil(final String sql, final int start, final String terminator) {
+        final int end = sql.indexOf(terminator, start);
+        if (end == -1) {
+            return sql.length();
+        }
+        return end + terminator.length();
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 파라미터 위치마다 값을 한 번씩 꺼낸다. substituteNamedParameters 와 buildValueArray 에 이 배열을 넘기면
+     * paramSource 를 다시 읽지 않는다.
+     */
+    public static Object[] resolveValues(final ParsedSql parsedSql, final SqlParameterSource paramSource) {
+        final var parameterNames = parsedSql.getParameterNames();
+        final var values = new Object[parameterNames.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = paramSource.getValue(parameterNames.get(i));
+        }
+        return values;
+    }
+
+    public static String substituteNamedParameters(final ParsedSql parsedSql, final SqlParameterSource paramSource) {
+        if (paramSource == null) {
+            return parsedSql.getJdbcSql();
+        }
+        return substituteNamedParameters(parsedSql, resolveValues(parsedSql, paramSource));
+    }
+
+    /**
+     * 파라미터를 ? 로 바꾼다. 컬렉션 값은 IN 목록으로 펼치되, 목록 길이를 2의 거듭제곱으로 맞춰
+     * 원소 수가 조금씩 달라도 같은 SQL 이 나오게 한다. 그래야 statement 캐시와 DB 실행 계획 캐시를 재사용한다.
+     */
+    public static String substituteNamedParameters(final ParsedSql parsedSql, final Object[] values) {
+        if (!hasCollectionValue(values)) {
+            return parsedSql.getJdbcSql();
+        }
+        return buildJdbcSql(parsedSql, values);
+    }
+
+    static String buildJdbcSql(final ParsedSql parsedSql, final Object[] values) {
+        final var originalSql = parsedSql.getOriginalSql();
+        final var parameterNames = parsedSql.getParameterNames();
+        final var sql = new StringBuilder(originalSql.length());
+        int lastIndex = 0;
+        for (int i = 0; i < parameterNames.size(); i++) {
+            sql.append(originalSql, lastIndex, parsedSql.getStartIndex(i));
+            final var value = values != null ? values[i] : null;
+            if (value instanceof Collection) {
+                appendPlaceholders(sql, paddedSize(((Collection<?>) value).size(), parameterNames.get(i)));
+            } else {
+                sql.append('?');
+            }
+            lastIndex = parsedSql.getEndIndex(i);
+        }
+        sql.append(originalSql, lastIndex, originalSql.length());
+        return sql.toString();
+    }
+
+    private static void appendPlaceholders(final StringBuilder sql, final int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('?');
+        }
+    }
+
+    public static Object[] buildValueArray(final ParsedSql parsedSql, final SqlParameterSource paramSource) {
+        return buildValueArray(parsedSql, resolveValues(parsedSql, paramSource));
+    }
+
+    /**
+     * 컬렉션 값이 없으면 values 를 그대로 돌려준다.
+     */
+    public static Object[] buildValueArray(final ParsedSql parsedSql, final Object[] values) {
+        if (!hasCollectionValue(values)) {
+            return values;
+        }
+        final var parameterNames = parsedSql.getParameterNames();
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            size += values[i] instanceof Collection
+                    ? paddedSize(((Collection<?>) values[i]).size(), parameterNames.get(i))
+                    : 1;
+        }
+        final var expanded = new Object[size];
+        int index = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Collection) {
+                index = addPadded(expanded, index, (Collection<?>) values[i], parameterNames.get(i));
+            } else {
+                expanded[index++] = values[i];
+            }
+        }
+        return expanded;
+    }
+
+    private static int addPadded(final Object[] values, final int start, final Collection<?> collection,
+                                 final String parameterName) {
+        final int paddedSize = paddedSize(collection.size(), parameterName);
+        int index = start;
+        Object last = null;
+        for (final var element : collection) {
+            values[index++] = element;
+            last = element;
+        }
+        while (index < start + paddedSize) {
+            values[index++] = last;
+        }
+        return index;
+    }
+
+    // 마지막 원소를 반복해 채우므로 IN 조건의 의미는 그대로다.
+    static int paddedSize(final int size, final String parameterName) {
+        if (size == 0) {
+            throw new IllegalArgumentException("Empty collection for IN parameter '" + parameterName + "'");
+        }
+        if (size == 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static boolean hasCollectionValue(final Object[] values) {
+        for (final var value : values) {
+            if (value instanceof Collection) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.List;
+
+/**
+ * 한 번 파싱한 named parameter SQL. 파라미터 이름과 원본 SQL 에서의 위치를 순서대로 가진다.
+ */
+public class ParsedSql {
+
+    private final String originalSql;
+    private final List<String> parameterNames;
+    private final int[] startIndexes;
+    private final int[] endIndexes;
+    private final String jdbcSql;
+
+    ParsedSql(final String originalSql, final List<String> parameterNames, final int[] startIndexes, final int[] endIndexes) {
+        this.originalSql = originalSql;
+        this.parameterNames = List.copyOf(parameterNames);
+        this.startIndexes = startIndexes;
+        this.endIndexes = endIndexes;
+        this.jdbcSql = NamedParameterUtils.buildJdbcSql(this, null);
+    }
+
+    public String getOriginalSql() {
+        return originalSql;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    int getStartIndex(final int parameterPosition) {
+        return startIndexes[parameterPosition];
+    }
+
+    int getEndIndex(final int parameterPosition) {
+        return endIndexes[parameterPosition];
+    }
+
+    // 컬렉션 파라미터가 없을 때 그대로 쓸 수 있는 ? 치환 결과
+    String getJdbcSql() {
+        return jdbcSql;
+    }
+
+    @Override
+    public String toString() {
+        return originalSql;
+    }
+}
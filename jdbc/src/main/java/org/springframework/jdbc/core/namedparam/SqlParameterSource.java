@@ -0,0 +1,8 @@
+package org.springframework.jdbc.core.namedparam;
+
+public interface SqlParameterSource {
+
+    boolean hasValue(final String paramName);
+
+    Object getValue(final String paramName) throws IllegalArgumentException;
+}
@@ -0,0 +1,421 @@
+package org.springframework.jdbc.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하나의 DataSource 에 대한 트랜잭션 매니저. 트랜잭션 커넥션을 TransactionSynchronizationManager 에 묶어
+ * 같은 스레드의 JdbcTemplate 이 DataSourceUtils 를 통해 같은 커넥션을 쓰게 한다.
+ * 커밋 뒤 콜백은 커넥션을 반납한 다음에 실행해 부수 작업이 커넥션을 붙잡지 않게 한다.
+ * 같은 DataSource 에 매니저가 여럿 있어도 묶인 커넥션으로 진행 중인 트랜잭션을 찾으므로 서로의 트랜잭션에 참여한다.
+ */
+public class DataSourceTransactionManager implements PlatformTransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceTransactionManager.class);
+
+    // 매니저 인스턴스가 아니라 묶인 커넥션에 트랜잭션 상태를 달아 두어야 다른 매니저도 rollback-only 표시를 공유한다.
+    private static final ThreadLocal<Map<Connection, DataSourceTransaction>> transactions =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private final DataSource dataSource;
+
+    public DataSourceTransactionManager(final DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(final TransactionDefinition definition) {
+        final var connection = TransactionSynchronizationManager.getResource(dataSource);
+        if (connection == null) {
+            return begin(definition, null);
+        }
+        final var existing = existingTransaction(connection);
+        final var propagation = definition.getPropagationBehavior();
+        if (propagation == TransactionDefinition.PROPAGATION_REQUIRES_NEW) {
+            final var suspended = suspend(existing);
+            try {
+                return begin(definition, suspended);
+            } catch (RuntimeException | Error e) {
+                resume(suspended);
+                throw e;
+            }
+        }
+        if (propagation == TransactionDefinition.PROPAGATION_NESTED) {
+            return new DataSourceTransactionStatus(existing, false, createSavepoint(existing));
+        }
+        return new DataSourceTransactionStatus(existing, false, null);
+    }
+
+    // 이 클래스 밖에서 커넥션을 묶었다면 그 트랜잭션을 시작한 쪽이 커밋하므로 참여만 한다.
+    private DataSourceTransaction existingTransaction(final Connection connection) {
+        final var existing = transactions.get().get(connection);
+        if (existing != null) {
+            return existing;
+        }
+        final var participant = new DataSourceTransaction(connection,
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly(), null);
+        try {
+            participant.physical = !connection.getAutoCommit();
+        } catch (SQLException e) {
+            throw new TransactionException("Could not inspect JDBC Connection bound to the current thread", e);
+        }
+        return participant;
+    }
+
+    private TransactionStatus begin(final TransactionDefinition definition, final SuspendedResources suspended) {
+        // 라우팅 DataSource 가 읽기 전용 트랜잭션을 알아볼 수 있도록 커넥션을 얻기 전에 표시한다.
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Connection connection = null;
+        DataSourceTransaction transaction = null;
+        boolean synchronizationInitialized = false;
+        try {
+            connection = DataSourceUtils.doGetConnection(dataSource, definition.isReadOnly());
+            transaction = new DataSourceTransaction(connection, definition.isReadOnly(), suspended);
+            prepareConnection(transaction, definition.getIsolationLevel());
+            TransactionSynchronizationManager.bindResource(dataSource, connection);
+            TransactionSynchronizationManager.initSynchronization();
+            synchronizationInitialized = true;
+            transactions.get().put(connection, transaction);
+        } catch (SQLException e) {
+            abortBegin(connection, transaction, synchronizationInitialized);
+            throw new TransactionException("Could not open JDBC Connection for transaction", e);
+        } catch (RuntimeException | Error e) {
+            abortBegin(connection, transaction, synchronizationInitialized);
+            throw e;
+        }
+        return new DataSourceTransactionStatus(transaction, true, null);
+    }
+
+    // 시작에 실패하면 스레드가 트랜잭션 안에 있는 것처럼 남지 않도록 표시를 되돌리고,
+    // 커넥션은 autocommit 과 격리 수준을 되돌려 반납한다.
+    private void abortBegin(final Connection connection, final DataSourceTransaction transaction,
+                            final boolean synchronizationInitialized) {
+        if (synchronizationInitialized) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (transaction != null) {
+            release(transaction);
+            return;
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (connection != null) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void prepareConnection(final DataSourceTransaction transaction, final int isolationLevel) throws SQLException {
+        final var connection = transaction.connection;
+        if (isolationLevel != TransactionDefinition.ISOLATION_DEFAULT) {
+            final int previousIsolation = connection.getTransactionIsolation();
+            if (previousIsolation != isolationLevel) {
+                transaction.previousIsolation = previousIsolation;
+                connection.setTransactionIsolation(isolationLevel);
+            }
+        }
+        if (transaction.readOnly) {
+            // 읽기 전용은 autocommit 을 그대로 두어 commit 왕복을 없애고, 드라이버에 읽기 전용임만 알린다.
+            connection.setReadOnly(true);
+            transaction.physical = !connection.getAutoCommit();
+            return;
+        }
+        if (connection.getAutoCommit()) {
+            transaction.restoreAutoCommit = true;
+            connection.setAutoCommit(false);
+        }
+        transaction.physical = true;
+    }
+
+    private Savepoint createSavepoint(final DataSourceTransaction transaction) {
+        if (!transaction.physical) {
+            return null;
+        }
+        try {
+            return transaction.connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new TransactionException("Could not create JDBC savepoint", e);
+        }
+    }
+
+    @Override
+    public void commit(final TransactionStatus status) {
+        final var transactionStatus = activeStatus(status);
+        if (transactionStatus.rollbackOnly) {
+            rollback(status);
+            return;
+        }
+        if (!transactionStatus.newTransaction) {
+            if (transactionStatus.savepoint != null) {
+                releaseSavepoint(transactionStatus);
+            }
+            transactionStatus.completed = true;
+            return;
+        }
+        if (transactionStatus.transaction.rollbackOnly) {
+            processRollback(transactionStatus);
+            throw new UnexpectedRollbackException("Transaction rolled back because it has been marked as rollback-only");
+        }
+        processCommit(transactionStatus);
+    }
+
+    private void processCommit(final DataSourceTransactionStatus status) {
+        final var transaction = status.transaction;
+        try {
+            TransactionSynchronizationUtils.triggerBeforeCommit(transaction.readOnly);
+            TransactionSynchronizationUtils.triggerBeforeCompletion();
+            if (transaction.physical) {
+                transaction.connection.commit();
+            }
+        } catch (SQLException e) {
+            rollbackAfterFailure(transaction, e);
+            complete(status, TransactionSynchronization.STATUS_UNKNOWN);
+            throw new TransactionException("Could not commit JDBC transaction", e);
+        } catch (RuntimeException | Error e) {
+            rollbackAfterFailure(transaction, e);
+            complete(status, TransactionSynchronization.STATUS_ROLLED_BACK);
+            throw e;
+        }
+        complete(status, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void rollbackAfterFailure(final DataSourceTransaction transaction, final Throwable cause) {
+        if (!transaction.physical) {
+            return;
+        }
+        try {
+            transaction.connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    @Override
+    public void rollback(final TransactionStatus status) {
+        final var transactionStatus = activeStatus(status);
+        if (transactionStatus.newTransaction) {
+            processRollback(transactionStatus);
+            return;
+        }
+        if (transactionStatus.savepoint != null) {
+            rollbackToSavepoint(transactionStatus);
+            return;
+        }
+        transactionStatus.transaction.rollbackOnly = true;
+        transactionStatus.completed = true;
+    }
+
+    private void processRollback(final DataSourceTransactionStatus status) {
+        final var transaction = status.transaction;
+        try {
+            TransactionSynchronizationUtils.triggerBeforeCompletion();
+            if (transaction.physical) {
+                transaction.connection.rollback();
+            }
+        } catch (SQLException e) {
+            complete(status, TransactionSynchronization.STATUS_UNKNOWN);
+            throw new TransactionException("Could not roll back JDBC transaction", e);
+        }
+        complete(status, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private void rollbackToSavepoint(final DataSourceTransactionStatus status) {
+        status.completed = true;
+        try {
+            status.transaction.connection.rollback(status.savepoint);
+        } catch (SQLException e) {
+            throw new TransactionException("Could not roll back to JDBC savepoint", e);
+        }
+        releaseSavepoint(status);
+    }
+
+    private void releaseSavepoint(final DataSourceTransactionStatus status) {
+        try {
+            status.transaction.connection.releaseSavepoint(status.savepoint);
+        } catch (SQLException e) {
+            log.debug("Could not release JDBC savepoint : {}", e.getMessage());
+        }
+    }
+
+    private void complete(final DataSourceTransactionStatus status, final int completionStatus) {
+        status.completed = true;
+        final var transaction = status.transaction;
+        final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        release(transaction);
+        try {
+            if (completionStatus == TransactionSynchronization.STATUS_COMMITTED) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+        } finally {
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, completionStatus);
+            if (transaction.suspended != null) {
+                resume(transaction.suspended);
+            }
+        }
+    }
+
+    private void release(final DataSourceTransaction transaction) {
+        final var connection = transaction.connection;
+        unbind(connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        try {
+            if (transaction.restoreAutoCommit) {
+                connection.setAutoCommit(true);
+            }
+            if (transaction.readOnly) {
+                connection.setReadOnly(false);
+            }
+            if (transaction.previousIsolation != null) {
+                connection.setTransactionIsolation(transaction.previousIsolation);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not reset JDBC Connection after transaction : {}", e.getMessage());
+        }
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+
+    private SuspendedResources suspend(final DataSourceTransaction transaction) {
+        final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        unbind(transaction.connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        return new SuspendedResources(transaction, synchronizations);
+    }
+
+    // 시작 도중 실패했다면 커넥션이 아직 묶이지 않았을 수 있으므로 자기 커넥션일 때만 푼다.
+    private void unbind(final Connection connection) {
+        if (TransactionSynchronizationManager.getResource(dataSource) == connection) {
+            TransactionSynchronizationManager.unbindResource(dataSource);
+        }
+        final var bound = transactions.get();
+        bound.remove(connection);
+        if (bound.isEmpty()) {
+            transactions.remove();
+        }
+    }
+
+    private void resume(final SuspendedResources suspended) {
+        final var transaction = suspended.transaction;
+        TransactionSynchronizationManager.bindResource(dataSource, transaction.connection);
+        TransactionSynchronizationManager.initSynchronization();
+        suspended.synchronizations.forEach(TransactionSynchronizationManager::registerSynchronization);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(transaction.readOnly);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        transactions.get().put(transaction.connection, transaction);
+    }
+
+    private DataSourceTransactionStatus activeStatus(final TransactionStatus status) {
+        if (!(status instanceof DataSourceTransactionStatus) || ((DataSourceTransactionStatus) status).manager() != this) {
+            throw new IllegalArgumentException("TransactionStatus was not created by this transaction manager");
+        }
+        final var transactionStatus = (DataSourceTransactionStatus) status;
+        if (transactionStatus.completed) {
+            throw new IllegalStateException(
+                    "Transaction is already completed - do not call commit or rollback more than once per transaction");
+        }
+        return transactionStatus;
+    }
+
+    /**
+     * 물리 트랜잭션 하나의 상태. 참여한 트랜잭션들이 rollback-only 표시를 공유한다.
+     */
+    private static final class DataSourceTransaction {
+
+        private final Connection connection;
+        private final boolean readOnly;
+        private final SuspendedResources suspended;
+        private boolean physical;
+        private boolean restoreAutoCommit;
+        private Integer previousIsolation;
+        private boolean rollbackOnly;
+
+        private DataSourceTransaction(final Connection connection, final boolean readOnly, final SuspendedResources suspended) {
+            this.connection = connection;
+            this.readOnly = readOnly;
+            this.suspended = suspended;
+        }
+    }
+
+    private static final class SuspendedResources {
+
+        private final DataSourceTransaction transaction;
+        private final List<TransactionSynchronization> synchronizations;
+
+        private SuspendedResources(final DataSourceTransaction transaction, final List<TransactionSynchronization> synchronizations) {
+            this.transaction = transaction;
+            this.synchronizations = synchronizations;
+        }
+    }
+
+    private final class DataSourceTransactionStatus implements TransactionStatus {
+
+        private final DataSourceTransaction transaction;
+        private final boolean newTransaction;
+        private final Savepoint savepoint;
+        private boolean rollbackOnly;
+        private boolean completed;
+
+        private DataSourceTransactionStatus(final DataSourceTransaction transaction, final boolean newTransaction, final Savepoint savepoint) {
+            this.transaction = transaction;
+            this.newTransaction = newTransaction;
+            this.savepoint = savepoint;
+        }
+
+        private DataSourceTransactionManager manager() {
+            return DataSourceTransactionManager.this;
+        }
+
+        @Override
+        public boolean isNewTransaction() {
+            return newTransaction;
+        }
+
+        @Override
+        public boolean hasSavepoint() {
+            return savepoint != null;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return transaction.readOnly;
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            this.rollbackOnly = true;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return rollbackOnly || (newTransaction && transaction.rollbackOnly);
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+}
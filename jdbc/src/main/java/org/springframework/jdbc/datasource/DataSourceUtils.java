@@ -13,25 +13,50 @@ public abstract class DataSourceUtils {
     private DataSourceUtils() {}
 
     public static Connection getConnection(DataSource dataSource) throws CannotGetJdbcConnectionException {
+        return getConnection(dataSource, false);
+    }
+
+    /**
+     * readOnly 는 조회만 할 커넥션이라는 힌트로, 읽기/쓰기를 나누는 DataSource 가 복제본으로 보내는 데 쓴다.
+     */
+    public static Connection getConnection(DataSource dataSource, boolean readOnly) throws CannotGetJdbcConnectionException {
         Connection connection = TransactionSynchronizationManager.getResource(dataSource);
         if (connection != null) {
             return connection;
         }
 
+        // 트랜잭션 밖에서 얻은 커넥션은 스레드에 묶지 않는다. 묶는 것은 트랜잭션 매니저의 일이다.
         try {
-            connection = dataSource.getConnection();
-            TransactionSynchronizationManager.bindResource(dataSource, connection);
-            return connection;
+            return doGetConnection(dataSource, readOnly);
         } catch (SQLException ex) {
             throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", ex);
         }
     }
 
+    // 데코레이터로 감싸져 있어도 readOnly 힌트가 라우팅 DataSource 까지 전달되게 한다.
+    static Connection doGetConnection(DataSource dataSource, boolean readOnly) throws SQLException {
+        if (dataSource instanceof ReadOnlyAwareDataSource) {
+            return ((ReadOnlyAwareDataSource) dataSource).getConnection(readOnly);
+        }
+        return dataSource.getConnection();
+    }
+
+    static void connectionReleased(DataSource dataSource, Connection connection) {
+        if (dataSource instanceof ReadOnlyAwareDataSource) {
+            ((ReadOnlyAwareDataSource) dataSource).connectionReleased(connection);
+        }
+    }
+
     public static void releaseConnection(Connection connection, DataSource dataSource) {
+        if (connection == null || connection == TransactionSynchronizationManager.getResource(dataSource)) {
+            return;
+        }
         try {
             connection.close();
         } catch (SQLException ex) {
             throw new CannotGetJdbcConnectionException("Failed to close JDBC Connection");
+        } finally {
+            connectionReleased(dataSource, connection);
         }
     }
 }
@@ -0,0 +1,324 @@
+package org.springframework.jdbc.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.metrics.LatencyHistogram;
+import org.springframework.jdbc.support.metrics.SqlMetrics;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션 획득 대기 시간, 점유 시간, 동시에 커넥션을 빌린 수를 잰다.
+ * 커넥션 획득 시간을 재는 곳은 여기 하나뿐이다. 잰 값은 설정된 SqlMetrics 에도 넘긴다.
+ * 누수 감지를 켜면 빌린 곳의 스택을 남겨 두고, 임계값보다 오래 반납되지 않은 커넥션을 경고 로그로 알린다.
+ */
+public class InstrumentedDataSource implements ReadOnlyAwareDataSource, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedDataSource.class);
+
+    private static final long MINIMUM_LEAK_CHECK_PERIOD_MILLIS = 100;
+
+    private final DataSource targetDataSource;
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LatencyHistogram holdLatency = new LatencyHistogram();
+    private final LongAdder acquireFailures = new LongAdder();
+    private final AtomicInteger activeBorrowers = new AtomicInteger();
+    private final LongAccumulator peakBorrowers = new LongAccumulator(Math::max, 0);
+    private final LongAdder leaksDetected = new LongAdder();
+    private final Set<Borrow> borrows = ConcurrentHashMap.newKeySet();
+
+    private volatile SqlMetrics sqlMetrics = SqlMetrics.getDefault();
+    private volatile long leakDetectionThresholdNanos;
+    private ScheduledExecutorService leakDetector;
+
+    public InstrumentedDataSource(final DataSource targetDataSource) {
+        this.targetDataSource = targetDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(false);
+    }
+
+    /**
+     * 감싼 DataSource 가 읽기/쓰기를 나눈다면 readOnly 힌트를 그대로 넘긴다.
+     */
+    @Override
+    public Connection getConnection(final boolean readOnly) throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection;
+        try {
+            connection = DataSourceUtils.doGetConnection(targetDataSource, readOnly);
+        } catch (SQLException | RuntimeException e) {
+            acquireFailures.increment();
+            recordAcquisition(System.nanoTime() - start);
+            throw e;
+        }
+        final long acquired = System.nanoTime();
+        recordAcquisition(acquired - start);
+        peakBorrowers.accumulate(activeBorrowers.incrementAndGet());
+        final var borrow = leakDetectionThresholdNanos > 0 ? new Borrow(acquired) : null;
+        if (borrow != null) {
+            borrows.add(borrow);
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease(connection, acquired, borrow));
+    }
+
+    private void recordAcquisition(final long elapsedNanos) {
+        acquireLatency.record(elapsedNanos);
+        final var metrics = sqlMetrics;
+        if (metrics != null) {
+            metrics.recordConnectionAcquisition(elapsedNanos);
+        }
+    }
+
+    private void released(final Connection connection, final long acquiredNanos, final Borrow borrow) {
+        final long heldNanos = System.nanoTime() - acquiredNanos;
+        holdLatency.record(heldNanos);
+        activeBorrowers.decrementAndGet();
+        if (borrow != null) {
+            borrows.remove(borrow);
+            if (borrow.reported) {
+                log.info("Previously reported connection returned after {}ms by thread {}",
+                        TimeUnit.NANOSECONDS.toMillis(heldNanos), borrow.threadName);
+            }
+        }
+        DataSourceUtils.connectionReleased(targetDataSource, connection);
+    }
+
+    private void detectLeaks() {
+        final long now = System.nanoTime();
+        final long threshold = leakDetectionThresholdNanos;
+        for (final var borrow : borrows) {
+            if (!borrow.reported && now - borrow.acquiredNanos > threshold) {
+                borrow.reported = true;
+                leaksDetected.increment();
+                log.warn("Connection held for {}ms by thread {}, possible leak",
+                        TimeUnit.NANOSECONDS.toMillis(now - borrow.acquiredNanos), borrow.threadName, borrow.stackTrace);
+            }
+        }
+    }
+
+    /**
+     * 0 보다 크면 누수 감지를 켠다. 켜져 있는 동안은 커넥션을 빌릴 때마다 스택을 남기므로 비용이 든다.
+     */
+    public synchronized void setLeakDetectionThresholdMillis(final long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, leakDetectionThresholdMillis));
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+            leakDetector = null;
+        }
+        if (leakDetectionThresholdMillis <= 0) {
+            borrows.clear();
+            return;
+        }
+        final long period = Math.max(MINIMUM_LEAK_CHECK_PERIOD_MILLIS, leakDetectionThresholdMillis / 2);
+        leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "InstrumentedDataSource-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        leakDetector.scheduleWithFixedDelay(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(leakDetectionThresholdNanos);
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    // null 을 넘기면 SqlMetrics 에는 커넥션 획득 시간을 넘기지 않는다. 이 DataSource 의 통계는 그대로 모은다.
+    public void setSqlMetrics(final SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    public DataSource getTargetDataSource() {
+        return targetDataSource;
+    }
+
+    public LatencyHistogram.Snapshot getAcquireLatency() {
+        return acquireLatency.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getHoldLatency() {
+        return holdLatency.snapshot();
+    }
+
+    public long getAcquireFailures() {
+        return acquireFailures.sum();
+    }
+
+    public int getActiveBorrowers() {
+        return activeBorrowers.get();
+    }
+
+    public long getPeakBorrowers() {
+        return peakBorrowers.get();
+    }
+
+    public long getLeaksDetected() {
+        return leaksDetected.sum();
+    }
+
+    // 점유 중인 커넥션은 그대로 두고 누적값만 비운다.
+    public void resetStatistics() {
+        acquireLatency.reset();
+        holdLatency.reset();
+        acquireFailures.reset();
+        peakBorrowers.reset();
+        peakBorrowers.accumulate(activeBorrowers.get());
+        leaksDetected.reset();
+    }
+
+    // 감싼 DataSource 의 close() 가 던지는 검사 예외는 SQLException 으로 감싸 try-with-resources 에서 다루기 쉽게 한다.
+    @Override
+    public synchronized void close() throws SQLException {
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+            leakDetector = null;
+        }
+        if (!(targetDataSource instanceof AutoCloseable)) {
+            return;
+        }
+        try {
+            ((AutoCloseable) targetDataSource).close();
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SQLException("Failed to close " + targetDataSource, e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("InstrumentedDataSource does not support per-user connections");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+
+    private static class Borrow {
+
+        private final long acquiredNanos;
+        private final String threadName = Thread.currentThread().getName();
+        private final Throwable stackTrace = new Throwable("Connection borrowed here");
+        private volatile boolean reported;
+
+        Borrow(final long acquiredNanos) {
+            this.acquiredNanos = acquiredNanos;
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+
+        private final Connection connection;
+        private final long acquiredNanos;
+        private final Borrow borrow;
+        private boolean closed;
+
+        Lease(final Connection connection, final long acquiredNanos, final Borrow borrow) {
+            this.connection = connection;
+            this.acquiredNanos = acquiredNanos;
+            this.borrow = borrow;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "InstrumentedConnection{" + connection + '}';
+                case "isClosed":
+                    return closed || connection.isClosed();
+                case "close":
+                    close();
+                    return null;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : connection.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || connection.isWrapperFor((Class<?>) args[0]);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                connection.close();
+            } finally {
+                released(connection, acquiredNanos, borrow);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.springframework.jdbc.datasource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * 실제 커넥션 획득을 첫 구문 실행까지 미룬다. 그 전까지 autocommit, 읽기 전용, 격리 수준 설정은 기록만 해 두었다가
+ * 커넥션을 얻는 순간 그대로 적용한다. SQL 을 하나도 실행하지 않은 트랜잭션은 풀에서 커넥션을 꺼내지 않는다.
+ */
+public class LazyConnectionDataSourceProxy implements ReadOnlyAwareDataSource {
+
+    private static final int UNKNOWN = -1;
+    private static final Object NOT_HANDLED = new Object();
+
+    private final DataSource targetDataSource;
+
+    // JDBC 명세상 새 커넥션은 autocommit 이다. 격리 수준은 처음 얻은 실제 커넥션에서 배워 두어, 이후에는 묻는 것만으로 커넥션을 얻지 않는다.
+    private volatile boolean defaultAutoCommit = true;
+    private volatile int defaultTransactionIsolation = UNKNOWN;
+
+    public LazyConnectionDataSourceProxy(final DataSource targetDataSource) {
+        this.targetDataSource = targetDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(false);
+    }
+
+    /**
+     * readOnly 힌트는 실제 커넥션을 얻을 때 감싼 DataSource 에 넘긴다. 그때도 트랜잭션이 열려 있으므로 라우팅이 그대로 동작한다.
+     */
+    @Override
+    public Connection getConnection(final boolean readOnly) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LazyConnection(readOnly));
+    }
+
+    public DataSource getTargetDataSource() {
+        return targetDataSource;
+    }
+
+    public void setDefaultAutoCommit(final boolean defaultAutoCommit) {
+        this.defaultAutoCommit = defaultAutoCommit;
+    }
+
+    public void setDefaultTransactionIsolation(final int defaultTransactionIsolation) {
+        this.defaultTransactionIsolation = defaultTransactionIsolation;
+    }
+
+    private Connection acquire(final boolean readOnly) throws SQLException {
+        final var connection = DataSourceUtils.doGetConnection(targetDataSource, readOnly);
+        if (defaultTransactionIsolation == UNKNOWN) {
+            defaultTransactionIsolation = connection.getTransactionIsolation();
+        }
+        return connection;
+    }
+
+    private void released(final Connection connection) {
+        DataSourceUtils.connectionReleased(targetDataSource, connection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("LazyConnectionDataSourceProxy does not support per-user connections");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+
+    private class LazyConnection implements InvocationHandler {
+
+        private final boolean readOnlyHint;
+        private Connection target;
+        private Boolean autoCommit;
+        private boolean readOnly;
+        private int transactionIsolation = UNKNOWN;
+        private boolean closed;
+
+        LazyConnection(final boolean readOnlyHint) {
+            this.readOnlyHint = readOnlyHint;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "LazyConnection{" + (target == null ? "not acquired" : target) + '}';
+                case "isClosed":
+                    return closed || (target != null && target.isClosed());
+                case "close":
+                    close();
+                    return null;
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            if (target == null) {
+                final var result = invokeBeforeAcquisition(method, args);
+                if (result != NOT_HANDLED) {
+                    return result;
+                }
+                target = acquire(readOnlyHint);
+                replayState();
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        // 실제 커넥션 없이 답할 수 있는 호출만 처리한다. 그 밖의 호출은 NOT_HANDLED 를 돌려 커넥션을 얻게 한다.
+        private Object invokeBeforeAcquisition(final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "getAutoCommit":
+                    return autoCommit == null ? defaultAutoCommit : autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly;
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "getTransactionIsolation":
+                    if (transactionIsolation != UNKNOWN) {
+                        return transactionIsolation;
+                    }
+                    return defaultTransactionIsolation == UNKNOWN ? NOT_HANDLED : defaultTransactionIsolation;
+                case "setTransactionIsolation":
+                    transactionIsolation = (Integer) args[0];
+                    return null;
+                // 아직 아무 구문도 실행하지 않았으니 커밋하거나 되돌릴 것이 없다.
+                case "commit":
+                case "rollback":
+                    if (args == null) {
+                        return null;
+                    }
+                    return NOT_HANDLED;
+                case "getWarnings":
+                    return null;
+                case "clearWarnings":
+                    return null;
+                default:
+                    return NOT_HANDLED;
+            }
+        }
+
+        private void replayState() throws SQLException {
+            if (autoCommit != null && target.getAutoCommit() != autoCommit) {
+                target.setAutoCommit(autoCommit);
+            }
+            if (readOnly) {
+                target.setReadOnly(true);
+            }
+            if (transactionIsolation != UNKNOWN && target.getTransactionIsolation() != transactionIsolation) {
+                target.setTransactionIsolation(transactionIsolation);
+            }
+        }
+
+        private void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (target == null) {
+                return;
+            }
+            try {
+                target.close();
+            } finally {
+                released(target);
+            }
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package org.springframework.jdbc.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 풀이 관리하는 물리 커넥션. 대여할 때마다 새 프록시를 만들어 close() 이후의 재사용을 막는다.
+ */
+class PooledConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledConnection.class);
+
+    private static final String CONNECTION_EXCEPTION_SQL_STATE_CLASS = "08";
+    private static final int PRUNE_THRESHOLD = 64;
+
+    private final PooledDataSource pool;
+    private final Connection connection;
+    // 대여할 때 풀의 현재 설정으로 만든다. 대여와 반납이 풀의 큐를 거치므로 다른 스레드에서도 보인다.
+    private StatementCache statementCache;
+    private final boolean defaultAutoCommit;
+    private final boolean defaultReadOnly;
+
+    private boolean autoCommit;
+    private boolean readOnlyDirty;
+    private int defaultTransactionIsolation = -1;
+    private volatile boolean broken;
+    private volatile long lastAccessedMillis;
+
+    PooledConnection(final PooledDataSource pool, final Connection connection) throws SQLException {
+        this.pool = pool;
+        this.connection = connection;
+        this.defaultAutoCommit = connection.getAutoCommit();
+        this.defaultReadOnly = connection.isReadOnly();
+        this.autoCommit = defaultAutoCommit;
+        touch();
+    }
+
+    Connection lease() {
+        if (statementCache == null) {
+            final int statementCacheSize = pool.getStatementCacheSize();
+            if (statementCacheSize > 0) {
+                statementCache = new StatementCache(statementCacheSize);
+            }
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease());
+    }
+
+    void touch() {
+        lastAccessedMillis = System.currentTimeMillis();
+    }
+
+    long idleMillis() {
+        return System.currentTimeMillis() - lastAccessedMillis;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    boolean isValid(final int timeoutSeconds) {
+        try {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    boolean resetState() {
+        try {
+            if (!autoCommit) {
+                connection.rollback();
+            }
+            if (autoCommit != defaultAutoCommit) {
+                connection.setAutoCommit(defaultAutoCommit);
+                autoCommit = defaultAutoCommit;
+            }
+            if (readOnlyDirty) {
+                connection.setReadOnly(defaultReadOnly);
+                readOnlyDirty = false;
+            }
+            if (defaultTransactionIsolation != -1) {
+                connection.setTransactionIsolation(defaultTransactionIsolation);
+                defaultTransactionIsolation = -1;
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            log.warn("Failed to reset connection state : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    void closePhysically() {
+        if (statementCache != null) {
+            statementCache.closeAll();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close connection : {}", e.getMessage());
+        }
+    }
+
+    private void beforeInvoke(final String methodName, final Object[] args) throws SQLException {
+        if ("setAutoCommit".equals(methodName)) {
+            autoCommit = (boolean) args[0];
+        } else if ("setReadOnly".equals(methodName)) {
+            readOnlyDirty = true;
+        } else if ("setTransactionIsolation".equals(methodName) && defaultTransactionIsolation == -1) {
+            defaultTransactionIsolation = connection.getTransactionIsolation();
+        }
+    }
+
+    private Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            final var cause = e.getTargetException();
+            if (cause instanceof SQLException && isConnectionError((SQLException) cause)) {
+                broken = true;
+            }
+            throw cause;
+        }
+    }
+
+    private boolean isConnectionError(final SQLException e) {
+        final var sqlState = e.getSQLState();
+        return sqlState != null && sqlState.startsWith(CONNECTION_EXCEPTION_SQL_STATE_CLASS);
+    }
+
+    @Override
+    public String toString() {
+        return "PooledConnection{" + connection + '}';
+    }
+
+    private class Lease implements InvocationHandler {
+
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final var methodName = method.getName();
+            switch (methodName) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lease{" + PooledConnection.this + ", closed=" + closed + '}';
+                case "isClosed":
+                    return closed;
+                case "close":
+                    close();
+                    return null;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : connection.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || connection.isWrapperFor((Class<?>) args[0]);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            if (statementCache != null && "prepareStatement".equals(methodName)) {
+                return prepareCachedStatement(proxy, method, args);
+            }
+            beforeInvoke(methodName, args);
+            final var result = invokeTarget(connection, method, args);
+            if (result instanceof Statement) {
+                track((Statement) result);
+            }
+            return result;
+        }
+
+        private Statement prepareCachedStatement(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final var key = new StatementCache.Key(args);
+            var pstmt = statementCache.take(key);
+            if (pstmt == null) {
+                pstmt = (PreparedStatement) invokeTarget(connection, method, args);
+            }
+            final var cachedStatement = (Statement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatement(key, pstmt, (Connection) proxy));
+            track(cachedStatement);
+            return cachedStatement;
+        }
+
+        private void track(final Statement statement) {
+            if (openStatements.size() >= PRUNE_THRESHOLD) {
+                openStatements.removeIf(this::isClosed);
+            }
+            openStatements.add(statement);
+        }
+
+        private boolean isClosed(final Statement statement) {
+            try {
+                return statement.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            openStatements.forEach(JdbcUtils::closeStatement);
+            openStatements.clear();
+            pool.release(PooledConnection.this);
+        }
+    }
+
+    private static boolean isClosed(final ResultSet resultSet) {
+        try {
+            return resultSet.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * close() 하면 열린 ResultSet 을 닫고 파라미터와 배치를 비운 뒤 캐시로 돌아가는 PreparedStatement.
+     * fetchSize, maxRows, queryTimeout 은 되돌리고, 되돌릴 수 없거나 드물게 쓰는 설정을 바꾼 문장은 캐시하지 않고 닫는다.
+     */
+    private class CachedStatement implements InvocationHandler {
+
+        private final StatementCache.Key key;
+        private final PreparedStatement pstmt;
+        private final Connection lease;
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private boolean settingsDirty;
+        private boolean evict;
+        private boolean closed;
+
+        CachedStatement(final StatementCache.Key key, final PreparedStatement pstmt, final Connection lease) throws SQLException {
+            this.key = key;
+            this.pstmt = pstmt;
+            this.lease = lease;
+            this.defaultFetchSize = pstmt.getFetchSize();
+            this.defaultMaxRows = pstmt.getMaxRows();
+            this.defaultQueryTimeout = pstmt.getQueryTimeout();
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final var methodName = method.getName();
+            switch (methodName) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement{" + pstmt + ", closed=" + closed + '}';
+                case "isClosed":
+                    return closed;
+                case "close":
+                    close();
+                    return null;
+                case "getConnection":
+                    return lease;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : pstmt.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || pstmt.isWrapperFor((Class<?>) args[0]);
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    settingsDirty = true;
+                    break;
+                case "setFetchDirection":
+                case "setMaxFieldSize":
+                case "setLargeMaxRows":
+                case "setPoolable":
+                case "setEscapeProcessing":
+                case "setCursorName":
+                case "closeOnCompletion":
+                    evict = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            final Object result = invokeTarget(pstmt, method, args);
+            if (result instanceof ResultSet) {
+                trackResultSet((ResultSet) result);
+            }
+            return result;
+        }
+
+        // 한 번 빌린 문장을 여러 번 실행하면 드라이버가 이전 ResultSet 을 닫으므로, 쌓이지 않게 닫힌 것은 정리한다.
+        private void trackResultSet(final ResultSet resultSet) {
+            if (resultSets.size() >= PRUNE_THRESHOLD) {
+                resultSets.removeIf(PooledConnection::isClosed);
+            }
+            resultSets.add(resultSet);
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (broken || evict || !reset() || !statementCache.offer(key, pstmt)) {
+                JdbcUtils.closeStatement(pstmt);
+            }
+        }
+
+        private boolean reset() {
+            try {
+                // Statement.close() 는 그 문장의 ResultSet 도 닫아야 한다. 다음 대여자가 실행할 때까지 커서를 붙잡지 않게 여기서 닫는다.
+                for (final var resultSet : resultSets) {
+                    resultSet.close();
+                }
+                resultSets.clear();
+                pstmt.clearParameters();
+                pstmt.clearBatch();
+                pstmt.clearWarnings();
+                if (settingsDirty) {
+                    pstmt.setFetchSize(defaultFetchSize);
+                    pstmt.setMaxRows(defaultMaxRows);
+                    pstmt.setQueryTimeout(defaultQueryTimeout);
+                }
+                return true;
+            } catch (SQLException e) {
+                log.debug("Failed to reset cached statement : {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
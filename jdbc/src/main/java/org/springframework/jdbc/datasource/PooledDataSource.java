@@ -0,0 +1,329 @@
+package org.springframework.jdbc.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 임의의 DataSource 를 감싸는 커넥션 풀.
+ * 대여와 반납은 LinkedTransferQueue 의 CAS 연산만 사용하고, 반납된 커넥션은 대기 중인 스레드에 바로 전달된다.
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledDataSource.class);
+
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+    private static final int DEFAULT_MAXIMUM_WAITING = 1_000;
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 30_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+    private static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 30_000;
+    private static final long ALIVE_BYPASS_WINDOW_MILLIS = 500;
+
+    private final DataSource targetDataSource;
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+    private final LinkedTransferQueue<PooledConnection> idleConnections = new LinkedTransferQueue<>();
+    // LinkedTransferQueue.size() 는 큐를 끝까지 훑으므로 유휴 커넥션 수는 따로 센다.
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile int maximumWaiting = DEFAULT_MAXIMUM_WAITING;
+    private volatile long connectionTimeoutMillis = DEFAULT_CONNECTION_TIMEOUT_MILLIS;
+    private volatile long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+    private volatile int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+    private volatile int statementCacheSize;
+    private volatile boolean closed;
+
+    public PooledDataSource(final DataSource targetDataSource) {
+        this(targetDataSource, DEFAULT_MAXIMUM_POOL_SIZE, DEFAULT_MAXIMUM_POOL_SIZE);
+    }
+
+    public PooledDataSource(final DataSource targetDataSource, final int maximumPoolSize, final int minimumIdle) {
+        if (maximumPoolSize < 1 || minimumIdle < 0 || minimumIdle > maximumPoolSize) {
+            throw new IllegalArgumentException(
+                    "invalid pool size. maximumPoolSize : " + maximumPoolSize + ", minimumIdle : " + minimumIdle);
+        }
+        this.targetDataSource = targetDataSource;
+        this.maximumPoolSize = maximumPoolSize;
+        this.minimumIdle = minimumIdle;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "PooledDataSource-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("PooledDataSource has been closed");
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMillis);
+        var pooledConnection = pollIdle();
+        while (true) {
+            if (pooledConnection == null) {
+                pooledConnection = createIfBelowMaximum();
+            }
+            if (pooledConnection == null) {
+                pooledConnection = awaitIdleConnection(deadline);
+            }
+            if (isAlive(pooledConnection)) {
+                return pooledConnection.lease();
+            }
+            retire(pooledConnection);
+            pooledConnection = pollIdle();
+        }
+    }
+
+    private PooledConnection pollIdle() {
+        final var pooledConnection = idleConnections.poll();
+        if (pooledConnection != null) {
+            idleCount.decrementAndGet();
+        }
+        return pooledConnection;
+    }
+
+    // 꺼내는 쪽이 먼저 줄이지 않도록 수를 먼저 올린 뒤에 넣는다.
+    private void offerIdle(final PooledConnection pooledConnection) {
+        idleCount.incrementAndGet();
+        idleConnections.offer(pooledConnection);
+    }
+
+    private PooledConnection createIfBelowMaximum() throws SQLException {
+        while (true) {
+            final int total = totalConnections.get();
+            if (total >= maximumPoolSize) {
+                return null;
+            }
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                break;
+            }
+        }
+        try {
+            return new PooledConnection(this, targetDataSource.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private PooledConnection awaitIdleConnection(final long deadline) throws SQLException {
+        if (waitingThreads.incrementAndGet() > maximumWaiting) {
+            waitingThreads.decrementAndGet();
+            throw new SQLTransientConnectionException("Connection wait queue is full. maximumWaiting : " + maximumWaiting);
+        }
+        try {
+            final var pooledConnection = idleConnections.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (pooledConnection == null) {
+                throw new SQLTransientConnectionException(
+                        "Connection is not available, request timed out after " + connectionTimeoutMillis + "ms");
+            }
+            idleCount.decrementAndGet();
+            return pooledConnection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    private boolean isAlive(final PooledConnection pooledConnection) {
+        if (pooledConnection.idleMillis() < ALIVE_BYPASS_WINDOW_MILLIS) {
+            return true;
+        }
+        return pooledConnection.isValid(validationTimeoutSeconds);
+    }
+
+    void release(final PooledConnection pooledConnection) {
+        if (closed || pooledConnection.isBroken() || !pooledConnection.resetState()) {
+            retire(pooledConnection);
+            return;
+        }
+        pooledConnection.touch();
+        offerIdle(pooledConnection);
+    }
+
+    private void retire(final PooledConnection pooledConnection) {
+        totalConnections.decrementAndGet();
+        pooledConnection.closePhysically();
+        if (!closed && waitingThreads.get() > 0) {
+            submitFill();
+        }
+    }
+
+    private void submitFill() {
+        try {
+            housekeeper.execute(this::fillPool);
+        } catch (RejectedExecutionException ignored) {
+            // 풀이 닫히는 중이면 보충하지 않는다.
+        }
+    }
+
+    private void housekeep() {
+        evictIdleConnections();
+        fillPool();
+    }
+
+    private void evictIdleConnections() {
+        for (final var pooledConnection : idleConnections) {
+            if (idleCount.get() <= minimumIdle) {
+                return;
+            }
+            if (pooledConnection.idleMillis() > idleTimeoutMillis && idleConnections.remove(pooledConnection)) {
+                idleCount.decrementAndGet();
+                log.debug("evict idle connection : {}", pooledConnection);
+                retire(pooledConnection);
+            }
+        }
+    }
+
+    /**
+     * 유휴 커넥션을 minimumIdle 개까지 채운다. 사용 중인 커넥션 수와 관계없이 유휴 커넥션을 남겨 두어야
+     * 부하가 몰릴 때도 새 커넥션을 맺는 비용을 치르지 않는다. 전체 수는 createIfBelowMaximum 이 maximumPoolSize 로 막는다.
+     * 기다리는 스레드가 있으면 그 수만큼은 더 만든다.
+     */
+    private void fillPool() {
+        while (!closed && idleCount.get() < Math.max(minimumIdle, waitingThreads.get())) {
+            try {
+                final var pooledConnection = createIfBelowMaximum();
+                if (pooledConnection == null) {
+                    return;
+                }
+                offerIdle(pooledConnection);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Failed to fill connection pool : {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private int activeCount() {
+        return Math.max(0, totalConnections.get() - idleCount.get());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooledConnection;
+        while ((pooledConnection = pollIdle()) != null) {
+            retire(pooledConnection);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return Math.max(0, idleCount.get());
+    }
+
+    public int getActiveConnections() {
+        return activeCount();
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads.get();
+    }
+
+    public void setMaximumWaiting(final int maximumWaiting) {
+        this.maximumWaiting = maximumWaiting;
+    }
+
+    public void setConnectionTimeoutMillis(final long connectionTimeoutMillis) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(final long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public void setValidationTimeoutSeconds(final int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * 0 보다 크면 물리 커넥션마다 그 개수만큼 PreparedStatement 를 캐시한다.
+     * 캐시는 커넥션을 처음 빌려줄 때 만들므로, 미리 채워 둔 유휴 커넥션에도 적용된다. 이미 만든 캐시의 크기는 바뀌지 않는다.
+     */
+    public void setStatementCacheSize(final int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("PooledDataSource does not support per-user connections");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,21 @@
+package org.springframework.jdbc.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * readOnly 힌트를 받아 커넥션을 내주는 DataSource. 데코레이터는 힌트를 감싼 DataSource 까지 그대로 넘긴다.
+ * DataSourceUtils 는 이 인터페이스만 보고 힌트를 넘기고 반납을 알리므로, 감싸는 순서와 관계없이 라우팅이 동작한다.
+ */
+public interface ReadOnlyAwareDataSource extends DataSource {
+
+    Connection getConnection(final boolean readOnly) throws SQLException;
+
+    /**
+     * 이 DataSource 에서 얻은 커넥션이 닫힌 뒤 호출된다. 같은 커넥션에 두 번 불려도 괜찮아야 한다.
+     * 자기 커넥션 프록시가 닫힐 때 스스로 알리는 데코레이터는 아무것도 하지 않아도 된다.
+     */
+    default void connectionReleased(final Connection connection) {
+    }
+}
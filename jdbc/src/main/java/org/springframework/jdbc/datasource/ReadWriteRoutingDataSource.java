@@ -0,0 +1,222 @@
+package org.springframework.jdbc.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 쓰기와 읽기-쓰기 트랜잭션은 primary 로, 읽기 전용 트랜잭션과 JdbcTemplate 조회는 replica 들로 돌아가며 보낸다.
+ * 한 스레드가 primary 에 쓴 뒤 readYourWritesWindow 동안은 그 스레드의 조회도 primary 로 보내 복제 지연으로 방금 쓴 값을 못 보는 일을 막는다.
+ * 쓰기 커넥션은 닫힐 때 스스로 반납을 알리므로, DataSourceUtils 를 거치지 않고 닫아도 스레드에 남지 않는다.
+ */
+public class ReadWriteRoutingDataSource implements ReadOnlyAwareDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final long DEFAULT_READ_YOUR_WRITES_WINDOW_MILLIS = 2_000;
+
+    private final DataSource primary;
+    private final DataSource[] replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ThreadLocal<WriteState> writeStates = ThreadLocal.withInitial(WriteState::new);
+
+    private volatile long readYourWritesWindowNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_READ_YOUR_WRITES_WINDOW_MILLIS);
+
+    public ReadWriteRoutingDataSource(final DataSource primary, final List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.toArray(new DataSource[0]);
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 그 읽기 전용 여부를, 없으면 쓰기로 보고 라우팅한다.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(false);
+    }
+
+    @Override
+    public Connection getConnection(final boolean readOnly) throws SQLException {
+        final boolean read = TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : readOnly;
+        final var state = writeStates.get();
+        if (!read || replicas.length == 0 || state.recentlyWrote(readYourWritesWindowNanos)) {
+            final var connection = primary.getConnection();
+            return read ? connection : state.track(connection);
+        }
+        return getReplicaConnection();
+    }
+
+    // 고장 난 replica 는 건너뛰고, 모두 실패하면 primary 에서 읽는다.
+    private Connection getReplicaConnection() throws SQLException {
+        final int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.length; i++) {
+            final var replica = replicas[Math.floorMod(start + i, replicas.length)];
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                log.warn("Failed to get replica connection : {}", e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    public void setReadYourWritesWindowMillis(final long readYourWritesWindowMillis) {
+        this.readYourWritesWindowNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesWindowMillis);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return List.of(replicas);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ReadWriteRoutingDataSource does not support per-user connections");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * 스레드가 빌려 간 쓰기 커넥션 수와 마지막으로 반납한 시각. 커넥션은 다른 스레드에서 닫힐 수도 있다.
+     */
+    private static final class WriteState {
+
+        private final AtomicInteger openWriteConnections = new AtomicInteger();
+        private volatile long lastWriteNanos;
+        private volatile boolean wrote;
+
+        private Connection track(final Connection connection) {
+            openWriteConnections.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new WriteConnection(connection, this));
+        }
+
+        // 반납한 시각을 먼저 남겨야 수가 0 이 된 순간에도 창이 이어진다.
+        private void released() {
+            lastWriteNanos = System.nanoTime();
+            wrote = true;
+            openWriteConnections.decrementAndGet();
+        }
+
+        private boolean recentlyWrote(final long windowNanos) {
+            if (openWriteConnections.get() > 0) {
+                return true;
+            }
+            return wrote && System.nanoTime() - lastWriteNanos < windowNanos;
+        }
+    }
+
+    /**
+     * 처음 닫힐 때 한 번만 WriteState 에 반납을 알리는 쓰기 커넥션.
+     */
+    private static final class WriteConnection implements InvocationHandler {
+
+        private final Connection connection;
+        private final WriteState state;
+        private boolean closed;
+
+        private WriteConnection(final Connection connection, final WriteState state) {
+            this.connection = connection;
+            this.state = state;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "WriteConnection{" + connection + '}';
+                case "isClosed":
+                    return closed || connection.isClosed();
+                case "close":
+                    close();
+                    return null;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : connection.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || connection.isWrapperFor((Class<?>) args[0]);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                connection.close();
+            } finally {
+                state.released();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.springframework.jdbc.datasource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 물리 커넥션 하나에 딸린 PreparedStatement LRU 캐시.
+ * 꺼낸 statement 는 캐시에서 빠지므로 같은 SQL 을 동시에 열어도 서로 다른 statement 를 받는다.
+ */
+class StatementCache {
+
+    private final int maximumSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    synchronized PreparedStatement take(final Key key) {
+        return statements.remove(key);
+    }
+
+    synchronized boolean offer(final Key key, final PreparedStatement pstmt) {
+        if (statements.containsKey(key)) {
+            return false;
+        }
+        if (statements.size() >= maximumSize) {
+            final var eldest = statements.entrySet().iterator().next();
+            statements.remove(eldest.getKey());
+            JdbcUtils.closeStatement(eldest.getValue());
+        }
+        statements.put(key, pstmt);
+        return true;
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    synchronized void closeAll() {
+        statements.values().forEach(JdbcUtils::closeStatement);
+        statements.clear();
+    }
+
+    static final class Key {
+
+        private final String sql;
+        private final List<Object> options;
+
+        Key(final Object[] args) {
+            this.sql = (String) args[0];
+            this.options = new ArrayList<>(args.length - 1);
+            for (int i = 1; i < args.length; i++) {
+                options.add(toComparable(args[i]));
+            }
+        }
+
+        private static Object toComparable(final Object option) {
+            if (option instanceof int[]) {
+                return Arrays.toString((int[]) option);
+            }
+            if (option instanceof String[]) {
+                return Arrays.asList((String[]) option);
+            }
+            return option;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return sql.equals(key.sql) && options.equals(key.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, options);
+        }
+    }
+}
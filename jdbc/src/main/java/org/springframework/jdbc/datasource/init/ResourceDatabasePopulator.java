@@ -0,0 +1,224 @@
+package org.springframework.jdbc.datasource.init;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 클래스패스의 SQL 스크립트를 스트리밍으로 읽어 실행한다. 연속된 INSERT/UPDATE/DELETE/MERGE 는 executeBatch 로 묶고,
+ * commitInterval 문장마다 커밋하므로 수백만 행짜리 시드 스크립트도 메모리 사용량이 일정하다.
+ * DDL 을 만나면 쌓인 배치를 먼저 보낸 뒤 단독으로 실행한다.
+ * 커넥션이 autocommit 이 아니면 호출한 쪽의 트랜잭션으로 보고 커밋하지 않는다.
+ */
+public class ResourceDatabasePopulator {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceDatabasePopulator.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final int DEFAULT_COMMIT_INTERVAL = 10_000;
+    private static final int MAX_LOGGED_STATEMENT_LENGTH = 200;
+    private static final String[] DML_KEYWORDS = {"insert", "update", "delete", "merge"};
+
+    private final List<String> scripts = new ArrayList<>();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    public ResourceDatabasePopulator(final String... scripts) {
+        this.scripts.addAll(Arrays.asList(scripts));
+    }
+
+    public void addScript(final String script) {
+        scripts.add(script);
+    }
+
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive. batchSize : " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void setCommitInterval(final int commitInterval) {
+        if (commitInterval < 1) {
+            throw new IllegalArgumentException("commitInterval must be positive. commitInterval : " + commitInterval);
+        }
+        this.commitInterval = commitInterval;
+    }
+
+    public void execute(final DataSource dataSource) {
+        final var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            populate(connection);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    public void populate(final Connection connection) {
+        try {
+            final boolean manageTransaction = connection.getAutoCommit();
+            if (manageTransaction) {
+                connection.setAutoCommit(false);
+            }
+            try (final var statement = connection.createStatement()) {
+                final var run = new ScriptRun(connection, statement, manageTransaction);
+                for (final var script : scripts) {
+                    run.execute(script);
+                }
+                run.commit();
+            } catch (SQLException | RuntimeException e) {
+                if (manageTransaction) {
+                    rollbackQuietly(connection);
+                }
+                throw e;
+            } finally {
+                if (manageTransaction) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to populate database", e);
+        }
+    }
+
+    private static void rollbackQuietly(final Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.debug("Could not roll back after script failure : {}", e.getMessage());
+        }
+    }
+
+    private static boolean isDml(final String sql) {
+        for (final var keyword : DML_KEYWORDS) {
+            if (sql.regionMatches(true, 0, keyword, 0, keyword.length())
+                    && sql.length() > keyword.length()
+                    && !Character.isLetterOrDigit(sql.charAt(keyword.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String abbreviate(final String sql) {
+        if (sql.length() <= MAX_LOGGED_STATEMENT_LENGTH) {
+            return sql;
+        }
+        return sql.substring(0, MAX_LOGGED_STATEMENT_LENGTH) + "...";
+    }
+
+    private class ScriptRun {
+
+        private final Connection connection;
+        private final Statement statement;
+        private final boolean manageTransaction;
+        private int pendingBatch;
+        private int batchStartLine;
+        private int sinceCommit;
+        private String script;
+
+        ScriptRun(final Connection connection, final Statement statement, final boolean manageTransaction) {
+            this.connection = connection;
+            this.statement = statement;
+            this.manageTransaction = manageTransaction;
+        }
+
+        void execute(final String script) throws SQLException {
+            this.script = script;
+            final long start = System.nanoTime();
+            long executed = 0;
+            try (final var reader = new ScriptStatementReader(open(script))) {
+                String sql;
+                while ((sql = reader.next()) != null) {
+                    executeStatement(sql, reader.getStatementLineNumber());
+                    executed++;
+                }
+                flushBatch();
+            } catch (IOException e) {
+                throw new DataAccessException("Failed to read SQL script " + script, e);
+            }
+            log.info("Executed {} statements from {} in {}ms",
+                    executed, script, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        private BufferedReader open(final String script) {
+            var classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = ResourceDatabasePopulator.class.getClassLoader();
+            }
+            final var inputStream = classLoader.getResourceAsStream(script);
+            if (inputStream == null) {
+                throw new DataAccessException("SQL script not found on classpath : " + script);
+            }
+            return new BufferedReader(new InputStreamReader(inputStream, UTF_8));
+        }
+
+        private void executeStatement(final String sql, final int lineNumber) throws SQLException {
+            if (!isDml(sql)) {
+                flushBatch();
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    throw new DataAccessException(
+                            "Failed to execute " + script + " line " + lineNumber + " : " + abbreviate(sql), e);
+                }
+                countStatements(1);
+                return;
+            }
+            if (pendingBatch == 0) {
+                batchStartLine = lineNumber;
+            }
+            statement.addBatch(sql);
+            pendingBatch++;
+            if (pendingBatch >= batchSize) {
+                flushBatch();
+            }
+        }
+
+        private void flushBatch() throws SQLException {
+            if (pendingBatch == 0) {
+                return;
+            }
+            final int flushed = pendingBatch;
+            pendingBatch = 0;
+            try {
+                statement.executeBatch();
+            } catch (SQLException e) {
+                throw new DataAccessException(
+                        "Failed to execute batch of " + flushed + " statements from " + script + " line " + batchStartLine, e);
+            } finally {
+                statement.clearBatch();
+            }
+            countStatements(flushed);
+        }
+
+        private void countStatements(final int count) throws SQLException {
+            sinceCommit += count;
+            if (sinceCommit >= commitInterval) {
+                commit();
+            }
+        }
+
+        void commit() throws SQLException {
+            if (manageTransaction && sinceCommit > 0) {
+                connection.commit();
+            }
+            sinceCommit = 0;
+        }
+    }
+}
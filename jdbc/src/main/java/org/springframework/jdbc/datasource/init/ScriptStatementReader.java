@@ -0,0 +1,127 @@
+package org.springframework.jdbc.datasource.init;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+
+/**
+ * SQL 스크립트를 한 문장씩 읽는다. 스크립트 전체를 메모리에 올리지 않고, 지금 읽는 문장만 버퍼에 둔다.
+ * 따옴표 안의 ; 와 주석은 문장 구분자로 보지 않으며, 주석은 공백 하나로 바꾼다.
+ */
+class ScriptStatementReader implements Closeable {
+
+    private static final char STATEMENT_SEPARATOR = ';';
+
+    private final PushbackReader reader;
+    private final StringBuilder statement = new StringBuilder();
+    private int lineNumber = 1;
+    private int statementLineNumber;
+
+    ScriptStatementReader(final Reader reader) {
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    /**
+     * 다음 문장을 앞뒤 공백을 뺀 채로 돌려준다. 더 읽을 문장이 없으면 null 이다.
+     */
+    String next() throws IOException {
+        statement.setLength(0);
+        int c;
+        while ((c = read()) != -1) {
+            if (c == STATEMENT_SEPARATOR) {
+                if (statement.length() > 0) {
+                    return statement.toString().trim();
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                appendQuoted((char) c);
+            } else if (c == '-' && peek() == '-') {
+                skipLineComment();
+            } else if (c == '/' && peek() == '*') {
+                skipBlockComment();
+            } else if (statement.length() > 0 || !Character.isWhitespace(c)) {
+                append((char) c);
+            }
+        }
+        return statement.length() > 0 ? statement.toString().trim() : null;
+    }
+
+    // 'it''s' 처럼 겹친 따옴표는 닫았다가 바로 다시 여는 것과 같으므로 따로 처리하지 않아도 된다.
+    private void appendQuoted(final char quote) throws IOException {
+        append(quote);
+        int c;
+        while ((c = read()) != -1) {
+            statement.append((char) c);
+            if (c == quote) {
+                return;
+            }
+        }
+        throw new IOException("Unterminated quote " + quote + " in statement starting at line " + statementLineNumber);
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // 줄 끝까지 버린다.
+        }
+        appendSeparatorSpace();
+    }
+
+    private void skipBlockComment() throws IOException {
+        read();
+        int previous = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (previous == '*' && c == '/') {
+                appendSeparatorSpace();
+                return;
+            }
+            previous = c;
+        }
+        throw new IOException("Unterminated block comment in statement starting at line " + statementLineNumber);
+    }
+
+    // 주석이 토큰 사이를 가르고 있었을 수 있으므로 지우지 않고 공백으로 남긴다.
+    private void appendSeparatorSpace() {
+        if (statement.length() > 0) {
+            statement.append(' ');
+        }
+    }
+
+    private void append(final char c) {
+        if (statement.length() == 0) {
+            statementLineNumber = lineNumber;
+        }
+        statement.append(c);
+    }
+
+    private int read() throws IOException {
+        final int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        final int c = reader.read();
+        if (c != -1) {
+            reader.unread(c);
+        }
+        return c;
+    }
+
+    /**
+     * 마지막으로 돌려준 문장이 시작한 줄. 오류 메시지에 쓴다.
+     */
+    int getStatementLineNumber() {
+        return statementLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,63 @@
+package org.springframework.jdbc.support;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * 크기가 정해진 동시성 캐시. 조회는 ConcurrentHashMap 만 거치고, 가득 차면 먼저 들어온 항목부터 내보낸다.
+ * SQL 파싱 결과처럼 종류가 적고 자주 재사용되는 값을 담는 용도이다.
+ */
+public class BoundedConcurrentCache<K, V> {
+
+    private final int maximumSize;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public BoundedConcurrentCache(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive. maximumSize : " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    public V get(final K key, final Function<K, V> generator) {
+        final var cached = values.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final var value = generator.apply(key);
+        if (values.putIfAbsent(key, value) == null) {
+            insertionOrder.offer(key);
+            evictIfNecessary();
+            return value;
+        }
+        final var existing = values.get(key);
+        return existing != null ? existing : value;
+    }
+
+    public V getIfPresent(final K key) {
+        return values.get(key);
+    }
+
+    private void evictIfNecessary() {
+        while (values.size() > maximumSize) {
+            final var eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            values.remove(eldest);
+        }
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        values.clear();
+        insertionOrder.clear();
+    }
+}
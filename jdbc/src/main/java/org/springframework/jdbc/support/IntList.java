@@ -0,0 +1,48 @@
+package org.springframework.jdbc.support;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없이 int 를 쌓는 가변 길이 배열.
+ */
+public class IntList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(final int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(final int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index : " + index + ", size : " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,48 @@
+package org.springframework.jdbc.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public abstract class JdbcUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcUtils.class);
+
+    private JdbcUtils() {}
+
+    public static void closeResultSet(final ResultSet rs) {
+        if (rs == null) {
+            return;
+        }
+        try {
+            rs.close();
+        } catch (SQLException e) {
+            log.debug("Could not close JDBC ResultSet : {}", e.getMessage());
+        }
+    }
+
+    // 래퍼 타입으로 읽되 NULL 이면 0 대신 null 을 돌려준다. 생성된 RowMapper 도 이 메서드를 호출한다.
+    public static Long getNullableLong(final ResultSet rs, final int index) throws SQLException {
+        final long value = rs.getLong(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Integer getNullableInt(final ResultSet rs, final int index) throws SQLException {
+        final int value = rs.getInt(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static void closeStatement(final Statement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            log.debug("Could not close JDBC Statement : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.springframework.jdbc.support;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없이 long 을 쌓는 가변 길이 배열.
+ */
+public class LongList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongList(final int initialCapacity) {
+        this.values = new long[Math.max(1, initialCapacity)];
+    }
+
+    public void add(final long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public long get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index : " + index + ", size : " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,146 @@
+package org.springframework.jdbc.support;
+
+/**
+ * long 키와 long 값을 박싱 없이 담는 해시 맵. 선형 탐사 개방 주소법을 쓰고 적재율이 1/2 을 넘으면 두 배로 늘린다.
+ */
+public class LongLongMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    public LongLongMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongMap(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final int capacity = Math.max(DEFAULT_CAPACITY, expectedSize * 2);
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * 이전 값이 없으면 0 을 반환한다. 0 과 구분하려면 containsKey 를 쓴다.
+     */
+    public long put(final long key, final long value) {
+        final int slot = findSlot(key);
+        if (used[slot]) {
+            final long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        insert(slot, key, value);
+        return 0;
+    }
+
+    /**
+     * 키가 없으면 delta 로 시작한다. 건수 집계에 쓴다.
+     */
+    public long addTo(final long key, final long delta) {
+        final int slot = findSlot(key);
+        if (used[slot]) {
+            values[slot] += delta;
+            return values[slot];
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    public long get(final long key, final long defaultValue) {
+        final int slot = findSlot(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(final long key) {
+        return used[findSlot(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] keys() {
+        final var result = new long[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[index++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    public void forEach(final LongLongConsumer action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int findSlot(final long key) {
+        final int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // 연속된 id 가 한곳에 몰리지 않도록 비트를 섞는다.
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private void insert(final int slot, final long key, final long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        final var oldKeys = keys;
+        final var oldValues = values;
+        final var oldUsed = used;
+        allocate(keys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                final int newSlot = findSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+                used[newSlot] = true;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongMap{size=" + size + '}';
+    }
+
+    @FunctionalInterface
+    public interface LongLongConsumer {
+
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,78 @@
+package org.springframework.jdbc.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 생산자, 한 소비자용 크기 고정 링 버퍼. 생산자는 자리 번호를 CAS 로 잡고, 소비자는 락 없이 차례대로 꺼낸다.
+ * 가득 차면 offer 가 false 를 돌려주므로 기다릴지 버릴지는 호출한 쪽이 정한다.
+ * drain 은 반드시 한 스레드에서만 호출해야 한다.
+ */
+public class MpscArrayQueue<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public MpscArrayQueue(final int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2. capacity : " + capacity);
+        }
+        final int actualCapacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.capacity = actualCapacity;
+        this.mask = actualCapacity - 1;
+        this.buffer = new AtomicReferenceArray<>(actualCapacity);
+    }
+
+    public boolean offer(final E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long index;
+        do {
+            index = producerIndex.get();
+            // 소비자가 비운 자리까지만 쓴다. 소비자는 자리를 null 로 비운 뒤에 consumerIndex 를 올린다.
+            if (index - consumerIndex.get() >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * 최대 limit 개를 꺼내 넘긴다. 자리를 잡았지만 아직 값을 쓰지 않은 생산자가 있으면 거기서 멈추고, 다음 호출에서 이어 꺼낸다.
+     */
+    public int drain(final Consumer<E> consumer, final int limit) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (drained < limit) {
+            final int offset = (int) index & mask;
+            final E element = buffer.get(offset);
+            if (element == null) {
+                break;
+            }
+            buffer.lazySet(offset, null);
+            index++;
+            consumerIndex.lazySet(index);
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
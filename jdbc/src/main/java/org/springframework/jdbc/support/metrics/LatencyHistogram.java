@@ -0,0 +1,180 @@
+package org.springframework.jdbc.support.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR 히스토그램처럼 2 의 거듭제곱 구간을 16 개로 나눈 로그-선형 버킷에 마이크로초 단위 지연을 센다.
+ * 상대 오차는 6.25% 이내이고, 약 71 분(2^32 마이크로초)을 넘는 값은 마지막 버킷에 모인다.
+ * 처음에는 버킷 배열(약 3.7KB) 하나로 시작하고, 기록하다 다른 스레드와 부딪혔을 때만 스트라이프를 두 배로 늘린다.
+ * 문장마다 히스토그램이 하나씩 생기므로 스트라이프는 최대 4 개로 제한한다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;
+    private static final long MAX_TRACKABLE_MICROS = (1L << MAX_EXPONENT) - 1;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final int MAX_STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    // 늘릴 때는 기존 배열을 그대로 옮기고 새 칸을 모두 채운 뒤 교체하므로, 옛 배열에 기록한 값도 잃지 않는다.
+    private volatile AtomicLongArray[] stripes;
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void record(final long elapsedNanos) {
+        final long micros = Math.min(MAX_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        final int bucket = bucketIndex(micros);
+        final var current = stripes();
+        final var stripe = current[stripeIndex(current.length)];
+        final long count = stripe.get(bucket);
+        if (!stripe.compareAndSet(bucket, count, count + 1)) {
+            grow(current);
+            stripe.incrementAndGet(bucket);
+        }
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    private AtomicLongArray[] stripes() {
+        final var current = stripes;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (stripes == null) {
+                stripes = new AtomicLongArray[]{new AtomicLongArray(BUCKET_COUNT)};
+            }
+            return stripes;
+        }
+    }
+
+    private synchronized void grow(final AtomicLongArray[] current) {
+        if (stripes != current || current.length >= MAX_STRIPES) {
+            return;
+        }
+        final var grown = Arrays.copyOf(current, current.length * 2);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        stripes = grown;
+    }
+
+    private static int stripeIndex(final int stripeCount) {
+        final long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (stripeCount - 1);
+    }
+
+    // 16 미만은 값 그대로, 그 위로는 최상위 비트의 지수와 바로 아래 4 비트로 버킷을 정한다.
+    static int bucketIndex(final long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // 버킷에 들어가는 가장 큰 값. 백분위는 이 값으로 보고하므로 실제보다 작게 나오지 않는다.
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final int subBucket = index % SUB_BUCKET_COUNT;
+        final long lowest = (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * 기록과 동시에 읽으므로 버킷 사이의 합이 약간 어긋날 수 있다. 모니터링 용도로는 충분하다.
+     */
+    public Snapshot snapshot() {
+        final var counts = new long[BUCKET_COUNT];
+        final var current = stripes;
+        if (current != null) {
+            for (final var stripe : current) {
+                for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                    counts[bucket] += stripe.get(bucket);
+                }
+            }
+        }
+        return new Snapshot(counts, totalMicros.sum(), maxMicros.get());
+    }
+
+    public void reset() {
+        stripes = null;
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalMicros;
+        private final long maxMicros;
+
+        Snapshot(final long[] counts, final long totalMicros, final long maxMicros) {
+            this.counts = counts;
+            long count = 0;
+            for (final long bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+
+        public long getMeanMicros() {
+            return count == 0 ? 0 : totalMicros / count;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getP50Micros() {
+            return percentile(50);
+        }
+
+        public long getP90Micros() {
+            return percentile(90);
+        }
+
+        public long getP99Micros() {
+            return percentile(99);
+        }
+
+        public long getP999Micros() {
+            return percentile(99.9);
+        }
+
+        public long percentile(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(bucket), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
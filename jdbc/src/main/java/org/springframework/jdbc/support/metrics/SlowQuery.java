@@ -0,0 +1,42 @@
+package org.springframework.jdbc.support.metrics;
+
+/**
+ * 느린 쿼리 한 건. 바인드 값은 개인정보일 수 있으므로 타입만 남긴다.
+ */
+public class SlowQuery {
+
+    private final String sql;
+    private final long elapsedMicros;
+    private final String parameterShape;
+    private final boolean failed;
+    private final long timestampMillis;
+
+    SlowQuery(final String sql, final long elapsedMicros, final String parameterShape, final boolean failed,
+              final long timestampMillis) {
+        this.sql = sql;
+        this.elapsedMicros = elapsedMicros;
+        this.parameterShape = parameterShape;
+        this.failed = failed;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public String getParameterShape() {
+        return parameterShape;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
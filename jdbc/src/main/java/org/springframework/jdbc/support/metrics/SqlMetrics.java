@@ -0,0 +1,170 @@
+package org.springframework.jdbc.support.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.BoundedConcurrentCache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정규화한 SQL 별 지연 히스토그램, 처리 행 수, 오류 수와 커넥션 획득 지연을 모은다.
+ * 임계값보다 오래 걸린 쿼리는 SLOW_QUERY 로거에 남기고 최근 기록을 스냅숏에 포함한다.
+ */
+public class SqlMetrics {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("org.springframework.jdbc.SLOW_QUERY");
+
+    private static final SqlMetrics DEFAULT = new SqlMetrics();
+
+    private static final int DEFAULT_MAXIMUM_STATEMENTS = 500;
+    private static final int RAW_SQL_CACHE_LIMIT = 1_024;
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS = 1_000;
+    private static final int SLOW_QUERY_HISTORY = 100;
+    private static final String OVERFLOW_STATEMENT = "<other>";
+
+    private final int maximumStatements;
+    private final Map<String, StatementStatistics> statements = new ConcurrentHashMap<>();
+    private final BoundedConcurrentCache<String, StatementStatistics> statementsBySql =
+            new BoundedConcurrentCache<>(RAW_SQL_CACHE_LIMIT);
+    private final StatementStatistics overflow = new StatementStatistics(OVERFLOW_STATEMENT);
+    private final LatencyHistogram connectionAcquisition = new LatencyHistogram();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>(SLOW_QUERY_HISTORY);
+
+    private volatile boolean enabled = true;
+    private volatile long slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS);
+
+    public SqlMetrics() {
+        this(DEFAULT_MAXIMUM_STATEMENTS);
+    }
+
+    public SqlMetrics(final int maximumStatements) {
+        if (maximumStatements < 1) {
+            throw new IllegalArgumentException("maximumStatements must be positive. maximumStatements : " + maximumStatements);
+        }
+        this.maximumStatements = maximumStatements;
+    }
+
+    /**
+     * JdbcTemplate 과 InstrumentedDataSource 가 기본으로 기록하는 공유 인스턴스.
+     */
+    public static SqlMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * args 는 느린 쿼리일 때만 타입을 뽑는 데 쓰이며 null 이어도 된다.
+     */
+    public void recordStatement(final String sql, final long elapsedNanos, final long rows, final boolean failed,
+                                final Object[] args) {
+        if (!enabled) {
+            return;
+        }
+        final var statistics = sql == null ? overflow : statementsBySql.get(sql, this::statisticsFor);
+        statistics.record(elapsedNanos, rows, failed);
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            recordSlowQuery(statistics.getSql(), elapsedNanos, failed, args);
+        }
+    }
+
+    // 정규화 결과가 같으면 다른 원문 SQL 도 같은 통계를 공유한다. 종류가 너무 많으면 한곳에 모은다.
+    private StatementStatistics statisticsFor(final String sql) {
+        final var normalized = SqlStatementNormalizer.normalize(sql);
+        final var statistics = statements.get(normalized);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (statements.size() >= maximumStatements) {
+            return overflow;
+        }
+        return statements.computeIfAbsent(normalized, StatementStatistics::new);
+    }
+
+    private void recordSlowQuery(final String sql, final long elapsedNanos, final boolean failed, final Object[] args) {
+        final long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        final var shape = describeShape(args);
+        slowQueryLog.warn("slow query : {}ms, params : {}, failed : {}, sql : {}", elapsedMicros / 1_000, shape, failed, sql);
+        final var slowQuery = new SlowQuery(sql, elapsedMicros, shape, failed, System.currentTimeMillis());
+        synchronized (slowQueries) {
+            if (slowQueries.size() == SLOW_QUERY_HISTORY) {
+                slowQueries.removeLast();
+            }
+            slowQueries.addFirst(slowQuery);
+        }
+    }
+
+    static String describeShape(final Object[] args) {
+        if (args == null) {
+            return "[]";
+        }
+        final var builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            final var arg = args[i];
+            if (arg == null) {
+                builder.append("null");
+            } else if (arg instanceof Collection) {
+                builder.append("Collection(").append(((Collection<?>) arg).size()).append(')');
+            } else {
+                builder.append(arg.getClass().getSimpleName());
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    // 풀 대기 시간이 쿼리 지연에 섞이지 않도록 따로 센다. InstrumentedDataSource 가 커넥션을 얻을 때마다 한 번 기록한다.
+    public void recordConnectionAcquisition(final long elapsedNanos) {
+        if (enabled) {
+            connectionAcquisition.record(elapsedNanos);
+        }
+    }
+
+    public SqlMetricsSnapshot snapshot() {
+        final var snapshots = new ArrayList<StatementSnapshot>(statements.size() + 1);
+        for (final var statistics : statements.values()) {
+            snapshots.add(statistics.snapshot());
+        }
+        final var overflowSnapshot = overflow.snapshot();
+        if (overflowSnapshot.getExecutions() > 0) {
+            snapshots.add(overflowSnapshot);
+        }
+        snapshots.sort(Comparator.comparingLong((StatementSnapshot snapshot) -> snapshot.getLatency().getTotalMicros()).reversed());
+        final List<SlowQuery> recentSlowQueries;
+        synchronized (slowQueries) {
+            recentSlowQueries = new ArrayList<>(slowQueries);
+        }
+        return new SqlMetricsSnapshot(snapshots, connectionAcquisition.snapshot(), recentSlowQueries,
+                TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos));
+    }
+
+    public void reset() {
+        statementsBySql.clear();
+        statements.clear();
+        overflow.reset();
+        connectionAcquisition.reset();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setSlowQueryThresholdMillis(final long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+}
@@ -0,0 +1,41 @@
+package org.springframework.jdbc.support.metrics;
+
+import java.util.List;
+
+public class SqlMetricsSnapshot {
+
+    private final List<StatementSnapshot> statements;
+    private final LatencyHistogram.Snapshot connectionAcquisition;
+    private final List<SlowQuery> slowQueries;
+    private final long slowQueryThresholdMillis;
+
+    SqlMetricsSnapshot(final List<StatementSnapshot> statements, final LatencyHistogram.Snapshot connectionAcquisition,
+                       final List<SlowQuery> slowQueries, final long slowQueryThresholdMillis) {
+        this.statements = statements;
+        this.connectionAcquisition = connectionAcquisition;
+        this.slowQueries = slowQueries;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    /**
+     * 누적 실행 시간이 긴 순서로 정렬돼 있다.
+     */
+    public List<StatementSnapshot> getStatements() {
+        return statements;
+    }
+
+    public LatencyHistogram.Snapshot getConnectionAcquisition() {
+        return connectionAcquisition;
+    }
+
+    /**
+     * 최근 것부터 정렬된 느린 쿼리 기록.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+}
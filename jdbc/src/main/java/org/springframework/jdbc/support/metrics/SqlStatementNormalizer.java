@@ -0,0 +1,98 @@
+package org.springframework.jdbc.support.metrics;
+
+/**
+ * 같은 모양의 문장이 한 통계로 모이도록 SQL 을 정규화한다.
+ * 공백을 하나로 줄이고, 문자열과 숫자 리터럴을 ? 로 바꾸고, ? 만 나열된 괄호는 길이와 관계없이 (?...) 로 접는다.
+ */
+final class SqlStatementNormalizer {
+
+    private SqlStatementNormalizer() {
+    }
+
+    static String normalize(final String sql) {
+        final var builder = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            final char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i = skipWhitespace(sql, i);
+                if (builder.length() > 0 && i < sql.length()) {
+                    builder.append(' ');
+                }
+            } else if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                builder.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(builder)) {
+                i = skipNumber(sql, i);
+                builder.append('?');
+            } else if (c == '(') {
+                i = appendParenthesis(sql, i, builder);
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static int skipWhitespace(final String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipStringLiteral(final String sql, int i) {
+        i++;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipNumber(final String sql, int i) {
+        while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(final StringBuilder builder) {
+        if (builder.length() == 0) {
+            return false;
+        }
+        final char previous = builder.charAt(builder.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '.';
+    }
+
+    // (?, ?, ?) 처럼 자리표시자만 있는 괄호는 IN 목록으로 보고 접는다.
+    private static int appendParenthesis(final String sql, final int start, final StringBuilder builder) {
+        int i = start + 1;
+        int placeholders = 0;
+        while (i < sql.length()) {
+            final char c = sql.charAt(i);
+            if (c == '?') {
+                placeholders++;
+            } else if (c == ')') {
+                break;
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                builder.append('(');
+                return start + 1;
+            }
+            i++;
+        }
+        if (i == sql.length() || placeholders < 2) {
+            builder.append('(');
+            return start + 1;
+        }
+        builder.append("(?...)");
+        return i + 1;
+    }
+}
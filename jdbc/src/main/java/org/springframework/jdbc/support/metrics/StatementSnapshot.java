@@ -0,0 +1,36 @@
+package org.springframework.jdbc.support.metrics;
+
+public class StatementSnapshot {
+
+    private final String sql;
+    private final LatencyHistogram.Snapshot latency;
+    private final long rows;
+    private final long errors;
+
+    StatementSnapshot(final String sql, final LatencyHistogram.Snapshot latency, final long rows, final long errors) {
+        this.sql = sql;
+        this.latency = latency;
+        this.rows = rows;
+        this.errors = errors;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return latency.getCount();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency;
+    }
+}
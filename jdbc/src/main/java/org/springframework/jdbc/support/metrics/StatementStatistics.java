@@ -0,0 +1,39 @@
+package org.springframework.jdbc.support.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+class StatementStatistics {
+
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    StatementStatistics(final String sql) {
+        this.sql = sql;
+    }
+
+    void record(final long elapsedNanos, final long rowCount, final boolean failed) {
+        latency.record(elapsedNanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    StatementSnapshot snapshot() {
+        return new StatementSnapshot(sql, latency.snapshot(), rows.sum(), errors.sum());
+    }
+
+    void reset() {
+        latency.reset();
+        rows.reset();
+        errors.reset();
+    }
+
+    String getSql() {
+        return sql;
+    }
+}
@@ -0,0 +1,33 @@
+package org.springframework.transaction;
+
+public interface TransactionDefinition {
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 참여하고, 없으면 새로 시작한다.
+     */
+    int PROPAGATION_REQUIRED = 0;
+
+    /**
+     * 진행 중인 트랜잭션을 보류하고 항상 새 물리 트랜잭션을 시작한다.
+     */
+    int PROPAGATION_REQUIRES_NEW = 3;
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 savepoint 를 만들어 그 지점까지만 롤백할 수 있게 한다.
+     */
+    int PROPAGATION_NESTED = 6;
+
+    int ISOLATION_DEFAULT = -1;
+
+    default int getPropagationBehavior() {
+        return PROPAGATION_REQUIRED;
+    }
+
+    default int getIsolationLevel() {
+        return ISOLATION_DEFAULT;
+    }
+
+    default boolean isReadOnly() {
+        return false;
+    }
+}
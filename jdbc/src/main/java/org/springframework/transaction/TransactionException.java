@@ -0,0 +1,12 @@
+package org.springframework.transaction;
+
+public class TransactionException extends RuntimeException {
+
+    public TransactionException(String message) {
+        super(message);
+    }
+
+    public TransactionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package org.springframework.transaction;
+
+public interface TransactionStatus {
+
+    boolean isNewTransaction();
+
+    boolean hasSavepoint();
+
+    boolean isReadOnly();
+
+    void setRollbackOnly();
+
+    boolean isRollbackOnly();
+
+    boolean isCompleted();
+}
@@ -0,0 +1,11 @@
+package org.springframework.transaction;
+
+/**
+ * 참여한 트랜잭션이 rollback-only 로 표시되어 커밋 요청이 롤백으로 끝났을 때 던진다.
+ */
+public class UnexpectedRollbackException extends TransactionException {
+
+    public UnexpectedRollbackException(String message) {
+        super(message);
+    }
+}
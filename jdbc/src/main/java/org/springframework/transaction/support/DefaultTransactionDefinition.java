@@ -0,0 +1,55 @@
+package org.springframework.transaction.support;
+
+import org.springframework.transaction.TransactionDefinition;
+
+public class DefaultTransactionDefinition implements TransactionDefinition {
+
+    private int propagationBehavior = PROPAGATION_REQUIRED;
+    private int isolationLevel = ISOLATION_DEFAULT;
+    private boolean readOnly;
+
+    public DefaultTransactionDefinition() {
+    }
+
+    public DefaultTransactionDefinition(final int propagationBehavior) {
+        setPropagationBehavior(propagationBehavior);
+    }
+
+    public DefaultTransactionDefinition(final TransactionDefinition other) {
+        this.propagationBehavior = other.getPropagationBehavior();
+        this.isolationLevel = other.getIsolationLevel();
+        this.readOnly = other.isReadOnly();
+    }
+
+    @Override
+    public int getPropagationBehavior() {
+        return propagationBehavior;
+    }
+
+    public void setPropagationBehavior(final int propagationBehavior) {
+        if (propagationBehavior != PROPAGATION_REQUIRED
+                && propagationBehavior != PROPAGATION_REQUIRES_NEW
+                && propagationBehavior != PROPAGATION_NESTED) {
+            throw new IllegalArgumentException("Unsupported propagation behavior : " + propagationBehavior);
+        }
+        this.propagationBehavior = propagationBehavior;
+    }
+
+    @Override
+    public int getIsolationLevel() {
+        return isolationLevel;
+    }
+
+    public void setIsolationLevel(final int isolationLevel) {
+        this.isolationLevel = isolationLevel;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(final boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+}
@@ -0,0 +1,24 @@
+package org.springframework.transaction.support;
+
+/**
+ * 트랜잭션 경계에서 호출되는 콜백. 커밋 뒤에 해도 되는 일은 afterCommit 이나 afterCompletion 으로 미뤄
+ * 커넥션을 잡고 있는 시간을 줄인다.
+ */
+public interface TransactionSynchronization {
+
+    int STATUS_COMMITTED = 0;
+    int STATUS_ROLLED_BACK = 1;
+    int STATUS_UNKNOWN = 2;
+
+    default void beforeCommit(boolean readOnly) {
+    }
+
+    default void beforeCompletion() {
+    }
+
+    default void afterCommit() {
+    }
+
+    default void afterCompletion(int status) {
+    }
+}
@@ -2,22 +2,153 @@ package org.springframework.transaction.support;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * 스레드에 묶인 커넥션과 트랜잭션 동기화 콜백을 관리한다.
+ * 보통 DataSource 는 하나뿐이므로 스레드마다 HashMap 을 두지 않고 작은 배열을 선형 탐색한다.
+ */
 public abstract class TransactionSynchronizationManager {
 
-    private static final ThreadLocal<Map<DataSource, Connection>> resources = new ThreadLocal<>();
+    private static final ThreadLocal<Resources> resources = new ThreadLocal<>();
+    private static final ThreadLocal<List<TransactionSynchronization>> synchronizations = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> currentTransactionReadOnly = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> actualTransactionActive = new ThreadLocal<>();
 
     private TransactionSynchronizationManager() {}
 
     public static Connection getResource(DataSource key) {
-        return null;
+        final var holder = resources.get();
+        if (holder == null) {
+            return null;
+        }
+        return holder.get(key);
     }
 
     public static void bindResource(DataSource key, Connection value) {
+        var holder = resources.get();
+        if (holder == null) {
+            holder = new Resources();
+            resources.set(holder);
+        }
+        holder.put(key, value);
     }
 
     public static Connection unbindResource(DataSource key) {
-        return null;
+        final var holder = resources.get();
+        if (holder == null) {
+            return null;
+        }
+        return holder.remove(key);
+    }
+
+    public static boolean isSynchronizationActive() {
+        return synchronizations.get() != null;
+    }
+
+    public static void initSynchronization() {
+        if (isSynchronizationActive()) {
+            throw new IllegalStateException("Cannot activate transaction synchronization - already active");
+        }
+        synchronizations.set(new ArrayList<>(2));
+    }
+
+    public static void registerSynchronization(TransactionSynchronization synchronization) {
+        final var registered = synchronizations.get();
+        if (registered == null) {
+            throw new IllegalStateException("Transaction synchronization is not active");
+        }
+        registered.add(synchronization);
+    }
+
+    /**
+     * 콜백 안에서 새 콜백을 등록해도 안전하도록 복사본을 반환한다.
+     */
+    public static List<TransactionSynchronization> getSynchronizations() {
+        final var registered = synchronizations.get();
+        if (registered == null) {
+            throw new IllegalStateException("Transaction synchronization is not active");
+        }
+        if (registered.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return List.copyOf(registered);
+    }
+
+    public static void clearSynchronization() {
+        if (!isSynchronizationActive()) {
+            throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
+        }
+        synchronizations.remove();
+    }
+
+    public static void setCurrentTransactionReadOnly(boolean readOnly) {
+        currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+    }
+
+    public static boolean isCurrentTransactionReadOnly() {
+        return currentTransactionReadOnly.get() != null;
+    }
+
+    public static void setActualTransactionActive(boolean active) {
+        actualTransactionActive.set(active ? Boolean.TRUE : null);
+    }
+
+    public static boolean isActualTransactionActive() {
+        return actualTransactionActive.get() != null;
+    }
+
+    /**
+     * DataSource 를 키로 하는 작은 배열 맵. 비어도 스레드에 남겨 두어 다음 트랜잭션에서 다시 할당하지 않는다.
+     */
+    private static final class Resources {
+
+        private static final int INITIAL_CAPACITY = 2;
+
+        private DataSource[] keys = new DataSource[INITIAL_CAPACITY];
+        private Connection[] values = new Connection[INITIAL_CAPACITY];
+        private int size;
+
+        private Connection get(final DataSource key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        private void put(final DataSource key, final Connection value) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    throw new IllegalStateException("Already value [" + values[i] + "] bound for key [" + key + "]");
+                }
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        private Connection remove(final DataSource key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    final var value = values[i];
+                    size--;
+                    keys[i] = keys[size];
+                    values[i] = values[size];
+                    keys[size] = null;
+                    values[size] = null;
+                    return value;
+                }
+            }
+            return null;
+        }
     }
 }
@@ -0,0 +1,57 @@
+package org.springframework.transaction.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public abstract class TransactionSynchronizationUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSynchronizationUtils.class);
+
+    private TransactionSynchronizationUtils() {}
+
+    public static void triggerBeforeCommit(final boolean readOnly) {
+        for (final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(readOnly);
+        }
+    }
+
+    public static void triggerBeforeCompletion() {
+        for (final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            try {
+                synchronization.beforeCompletion();
+            } catch (RuntimeException e) {
+                log.error("TransactionSynchronization.beforeCompletion threw exception", e);
+            }
+        }
+    }
+
+    public static void triggerAfterCommit() {
+        invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+    }
+
+    public static void triggerAfterCompletion(final int completionStatus) {
+        invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), completionStatus);
+    }
+
+    /**
+     * 동기화를 이미 해제한 뒤, 예를 들어 커넥션을 반납한 뒤에 콜백을 실행할 때 쓴다.
+     */
+    public static void invokeAfterCommit(final List<TransactionSynchronization> synchronizations) {
+        for (final var synchronization : synchronizations) {
+            synchronization.afterCommit();
+        }
+    }
+
+    // 트랜잭션은 이미 끝났으므로 콜백의 예외가 다른 콜백이나 호출자에게 번지지 않게 한다.
+    public static void invokeAfterCompletion(final List<TransactionSynchronization> synchronizations, final int completionStatus) {
+        for (final var synchronization : synchronizations) {
+            try {
+                synchronization.afterCompletion(completionStatus);
+            } catch (RuntimeException e) {
+                log.error("TransactionSynchronization.afterCompletion threw exception", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.springframework.transaction.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.function.Consumer;
+
+/**
+ * 콜백을 트랜잭션 안에서 실행한다. 콜백이 RuntimeException 이나 Error 를 던지면 롤백하고 예외를 그대로 다시 던진다.
+ */
+public class TransactionTemplate extends DefaultTransactionDefinition {
+
+    private final PlatformTransactionManager transactionManager;
+
+    public TransactionTemplate(final PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public TransactionTemplate(final PlatformTransactionManager transactionManager, final TransactionDefinition definition) {
+        super(definition);
+        this.transactionManager = transactionManager;
+    }
+
+    public PlatformTransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    public <T> T execute(final TransactionCallback<T> action) {
+        final var status = transactionManager.getTransaction(this);
+        final T result;
+        try {
+            result = action.doInTransaction(status);
+        } catch (RuntimeException | Error e) {
+            rollbackOnException(status, e);
+            throw e;
+        }
+        transactionManager.commit(status);
+        return result;
+    }
+
+    public void executeWithoutResult(final Consumer<TransactionStatus> action) {
+        execute(status -> {
+            action.accept(status);
+            return null;
+        });
+    }
+
+    private void rollbackOnException(final TransactionStatus status, final Throwable ex) {
+        try {
+            transactionManager.rollback(status);
+        } catch (RuntimeException | Error rollbackEx) {
+            ex.addSuppressed(rollbackEx);
+        }
+    }
+}
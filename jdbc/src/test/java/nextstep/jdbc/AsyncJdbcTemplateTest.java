@@ -0,0 +1,73 @@
+package nextstep.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.AsyncJdbcTemplate;
+import org.springframework.jdbc.datasource.PooledDataSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncJdbcTemplateTest {
+
+    private PooledDataSource dataSource;
+    private AsyncJdbcTemplate asyncJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var jdbcDataSource = TestDataSources.h2("async-jdbc-template");
+        dataSource = new PooledDataSource(jdbcDataSource, 2, 0);
+        final var jdbcTemplate = TestDataSources.createUsers(dataSource, 0);
+        asyncJdbcTemplate = new AsyncJdbcTemplate(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncJdbcTemplate.close();
+        dataSource.close();
+    }
+
+    @Test
+    void updateThenQuery() throws Exception {
+        final var inserted = asyncJdbcTemplate.update("insert into users (account) values (?)", "gugu")
+                .thenCompose(count -> asyncJdbcTemplate.queryForObject(
+                        "select account from users where id = ?", (rs, rowNum) -> rs.getString(1), 1L))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(inserted).isEqualTo("gugu");
+    }
+
+    @Test
+    void concurrencyIsBoundedByPoolSize() {
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        final var futures = IntStream.range(0, 10)
+                .mapToObj(i -> asyncJdbcTemplate.execute(template -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    template.query("select 1 from dual", (rs, rowNum) -> rs.getInt(1));
+                    sleep();
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(dataSource.getMaximumPoolSize());
+        assertThat(dataSource.getTotalConnections()).isLessThanOrEqualTo(2);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
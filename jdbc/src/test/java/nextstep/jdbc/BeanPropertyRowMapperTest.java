@@ -0,0 +1,179 @@
+package nextstep.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BeanPropertyRowMapperTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("row-mapper");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("drop table if exists members");
+        jdbcTemplate.update("create table members (id bigint, user_name varchar(100), age int, joined_at datetime)");
+        jdbcTemplate.update("insert into members values (?, ?, ?, ?)", 1L, "gugu", 20, LocalDateTime.of(2023, 10, 1, 9, 0));
+        jdbcTemplate.update("insert into members values (?, ?, ?, ?)", 2L, "brown", null, null);
+    }
+
+    @Test
+    void mapByConstructor() {
+        final var members = jdbcTemplate.query("select id, user_name, age, joined_at from members order by id",
+                BeanPropertyRowMapper.newInstance(ConstructorMember.class));
+
+        assertThat(members).extracting("id", "userName", "age", "joinedAt")
+                .containsExactly(
+                        tuple(1L, "gugu", 20, LocalDateTime.of(2023, 10, 1, 9, 0)),
+                        tuple(2L, "brown", 0, null));
+    }
+
+    @Test
+    void chooseConstructorMatchingSelectedColumns() {
+        final var member = jdbcTemplate.queryForObject("select user_name from members where id = ?",
+                BeanPropertyRowMapper.newInstance(ConstructorMember.class), 1L);
+
+        assertThat(member.getUserName()).isEqualTo("gugu");
+        assertThat(member.getId()).isZero();
+    }
+
+    @Test
+    void mapBySetter() {
+        final var member = jdbcTemplate.queryForObject("select id, user_name as userName, age from members where id = ?",
+                BeanPropertyRowMapper.newInstance(SetterMember.class), 2L);
+
+        assertThat(member.getId()).isEqualTo(2L);
+        assertThat(member.getUserName()).isEqualTo("brown");
+        assertThat(member.getAge()).isNull();
+    }
+
+    @Test
+    void bindReusesMapperForSameColumns() {
+        final var rowMapper = BeanPropertyRowMapper.newInstance(ConstructorMember.class);
+        final String sql = "select user_name from members where id = ?";
+
+        final var first = bind(rowMapper, sql, 1L);
+        final var second = bind(rowMapper, sql, 2L);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void bindFollowsSchemaChange() {
+        final var rowMapper = BeanPropertyRowMapper.newInstance(ConstructorMember.class);
+        final String sql = "select * from members where id = ?";
+        assertThat(jdbcTemplate.queryForObject(sql, rowMapper, 1L).getUserName()).isEqualTo("gugu");
+
+        jdbcTemplate.update("drop table members");
+        jdbcTemplate.update("create table members (user_name varchar(100), joined_at datetime, id bigint, age int)");
+        jdbcTemplate.update("insert into members values (?, ?, ?, ?)", "gugu", null, 1L, 30);
+
+        final var member = jdbcTemplate.queryForObject(sql, rowMapper, 1L);
+        assertThat(member.getId()).isEqualTo(1L);
+        assertThat(member.getUserName()).isEqualTo("gugu");
+        assertThat(member.getAge()).isEqualTo(30);
+    }
+
+    private <T> RowMapper<T> bind(final BeanPropertyRowMapper<T> rowMapper, final String sql, final long id) {
+        return jdbcTemplate.execute(sql, pstmt -> {
+            pstmt.setLong(1, id);
+            try (final var rs = pstmt.executeQuery()) {
+                return rowMapper.bind(sql, rs);
+            }
+        });
+    }
+
+    @Test
+    void mapPrivateNestedClass() {
+        final var members = jdbcTemplate.query("select id, user_name, age from members order by id",
+                BeanPropertyRowMapper.newInstance(PrivateSetterMember.class));
+
+        assertThat(members).extracting(member -> member.userName).containsExactly("gugu", "brown");
+    }
+
+    public static class ConstructorMember {
+
+        private final long id;
+        private final String userName;
+        private final int age;
+        private final LocalDateTime joinedAt;
+
+        public ConstructorMember(final long id, final String userName, final int age, final LocalDateTime joinedAt) {
+            this.id = id;
+            this.userName = userName;
+            this.age = age;
+            this.joinedAt = joinedAt;
+        }
+
+        public ConstructorMember(final String userName) {
+            this(0, userName, 0, null);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public LocalDateTime getJoinedAt() {
+            return joinedAt;
+        }
+    }
+
+    private static class PrivateSetterMember {
+
+        private String userName;
+
+        PrivateSetterMember() {
+        }
+
+        public void setUserName(final String userName) {
+            this.userName = userName;
+        }
+    }
+
+    public static class SetterMember {
+
+        private Long id;
+        private String userName;
+        private Integer age;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(final Long id) {
+            this.id = id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(final String userName) {
+            this.userName = userName;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(final Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -1,5 +1,224 @@
 package nextstep.jdbc;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.GeneratedKeyHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.KeysetQuery;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 class JdbcTemplateTest {
 
+    private static final RowMapper<String> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> rs.getString("account");
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("jdbc-template");
+        jdbcTemplate = TestDataSources.createUsers(dataSource, 10);
+    }
+
+    @Test
+    void queryForObject() {
+        final var account = jdbcTemplate.queryForObject("select account from users where id = ?", ACCOUNT_ROW_MAPPER, 3L);
+
+        assertThat(account).isEqualTo("user3");
+    }
+
+    @Test
+    void queryForObjectReturnsNullWhenEmpty() {
+        final var account = jdbcTemplate.queryForObject("select account from users where id = ?", ACCOUNT_ROW_MAPPER, 100L);
+
+        assertThat(account).isNull();
+    }
+
+    @Test
+    void queryForObjectFailsWhenMoreThanOneRow() {
+        assertThatThrownBy(() -> jdbcTemplate.queryForObject("select account from users", ACCOUNT_ROW_MAPPER))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    void update() {
+        final var updated = jdbcTemplate.update("update users set account = ? where id > ?", "changed", 5L);
+
+        assertThat(updated).isEqualTo(5);
+    }
+
+    @Test
+    void queryForStream() {
+        try (final var accounts = jdbcTemplate.queryForStream("select account from users where id <= ? order by id", ACCOUNT_ROW_MAPPER, 3L)) {
+            assertThat(accounts.collect(Collectors.toList())).containsExactly("user1", "user2", "user3");
+        }
+    }
+
+    @Test
+    void queryForStreamIsLazy() {
+        final var mapped = new ArrayList<Integer>();
+        try (final var accounts = jdbcTemplate.queryForStream("select account from users order by id",
+                (rs, rowNum) -> {
+                    mapped.add(rowNum);
+                    return rs.getString("account");
+                })) {
+            assertThat(accounts.limit(2).collect(Collectors.toList())).containsExactly("user1", "user2");
+        }
+
+        assertThat(mapped).containsExactly(0, 1);
+    }
+
+    @Test
+    void queryWithRowCallbackHandler() {
+        final var accounts = new ArrayList<String>();
+
+        jdbcTemplate.query("select account from users where id > ? order by id", rs -> {
+            accounts.add(rs.getString("account"));
+        }, 8L);
+
+        assertThat(accounts).containsExactly("user9", "user10");
+    }
+
+    @Test
+    void batchUpdateInChunks() {
+        jdbcTemplate.setBatchSize(3);
+        final var batchArgs = new ArrayList<Object[]>();
+        for (int i = 0; i < 7; i++) {
+            batchArgs.add(new Object[]{"batch" + i});
+        }
+
+        final var rowsAffected = jdbcTemplate.batchUpdate("insert into users (account) values (?)", batchArgs);
+
+        assertThat(rowsAffected).hasSize(7).containsOnly(1);
+        assertThat(jdbcTemplate.query("select account from users where account like 'batch%'", ACCOUNT_ROW_MAPPER)).hasSize(7);
+    }
+
+    @Test
+    void batchUpdateWithParameterizedSetter() {
+        final var rowsAffected = jdbcTemplate.batchUpdate("update users set account = ? where id = ?", List.of(1L, 2L, 100L),
+                (pstmt, id) -> {
+                    pstmt.setString(1, "renamed" + id);
+                    pstmt.setLong(2, id);
+                });
+
+        assertThat(rowsAffected).containsExactly(1, 1, 0);
+    }
+
+    @Test
+    void rewriteBatchedInsertsIntoMultiRowStatements() {
+        jdbcTemplate.setRewriteBatchedInserts(true);
+        jdbcTemplate.setMaxRowsPerInsert(8);
+        final var batchArgs = new ArrayList<Object[]>();
+        for (int i = 0; i < 21; i++) {
+            batchArgs.add(new Object[]{"multi" + i});
+        }
+
+        final var rowsAffected = jdbcTemplate.batchUpdate("insert into users (account) values (?)", batchArgs);
+
+        assertThat(rowsAffected).hasSize(21).containsOnly(1);
+        assertThat(jdbcTemplate.query("select account from users where account like 'multi%' order by id", ACCOUNT_ROW_MAPPER))
+                .hasSize(21)
+                .startsWith("multi0", "multi1")
+                .endsWith("multi20");
+    }
+
+    @Test
+    void rewriteBatchedInsertsWithParameterizedSetter() {
+        jdbcTemplate.setRewriteBatchedInserts(true);
+
+        final var rowsAffected = jdbcTemplate.batchUpdate("insert into users (account) values (?)", List.of("a", "b", "c"),
+                (pstmt, account) -> pstmt.setString(1, "setter-" + account));
+
+        assertThat(rowsAffected).containsExactly(1, 1, 1);
+        assertThat(jdbcTemplate.query("select account from users where account like 'setter-%' order by id", ACCOUNT_ROW_MAPPER))
+                .containsExactly("setter-a", "setter-b", "setter-c");
+    }
+
+    @Test
+    void updateReturnsGeneratedKey() {
+        final var keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update("insert into users (account) values (?)", pstmt -> pstmt.setString(1, "keyed"), keyHolder);
+
+        assertThat(keyHolder.getKey()).isEqualTo(11L);
+    }
+
+    @Test
+    void batchUpdateReturnsGeneratedKeysInOrder() {
+        jdbcTemplate.setBatchSize(2);
+        final var keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate("insert into users (account) values (?)", List.of(1, 2, 3),
+                (pstmt, i) -> pstmt.setString(1, "keyed" + i), keyHolder);
+
+        assertThat(keyHolder.getKeys()).containsExactly(11L, 12L, 13L);
+    }
+
+    @Test
+    void rewrittenBatchInsertReturnsGeneratedKeys() {
+        jdbcTemplate.setRewriteBatchedInserts(true);
+        jdbcTemplate.setMaxRowsPerInsert(2);
+        final var keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate("insert into users (account) values (?)", List.of(1, 2, 3, 4, 5),
+                (pstmt, i) -> pstmt.setString(1, "keyed" + i), keyHolder);
+
+        assertThat(keyHolder.getKeys()).containsExactly(11L, 12L, 13L, 14L, 15L);
+    }
+
+    @Test
+    void queryForPrimitiveArrays() {
+        final var ids = jdbcTemplate.queryForLongArray("select id from users where id <= ? order by id", 3L);
+        final var intIds = jdbcTemplate.queryForIntArray("select id from users where id > ? order by id", 8L);
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        assertThat(intIds).containsExactly(9, 10);
+    }
+
+    @Test
+    void queryForLongMap() {
+        final var lengths = jdbcTemplate.queryForLongMap("select id, length(account) from users");
+
+        assertThat(lengths.size()).isEqualTo(10);
+        assertThat(lengths.get(1L, -1)).isEqualTo(5);
+        assertThat(lengths.get(10L, -1)).isEqualTo(6);
+        assertThat(lengths.get(100L, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void primitiveQueryRejectsNull() {
+        assertThatThrownBy(() -> jdbcTemplate.queryForLongArray("select cast(null as bigint) from users"))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void pageThroughKeyset() {
+        final var query = KeysetQuery.of("select id, account from users", "id").where("id > ?");
+
+        final var first = jdbcTemplate.queryForPage(query, ACCOUNT_ROW_MAPPER, 4, null, 1L);
+        final var second = jdbcTemplate.queryForPage(query, ACCOUNT_ROW_MAPPER, 4, first.getContinuationToken(), 1L);
+        final var last = jdbcTemplate.queryForPage(query, ACCOUNT_ROW_MAPPER, 4, second.getContinuationToken(), 1L);
+
+        assertThat(first.getContent()).containsExactly("user2", "user3", "user4", "user5");
+        assertThat(second.getContent()).containsExactly("user6", "user7", "user8", "user9");
+        assertThat(last.getContent()).containsExactly("user10");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void rejectTokenFromAnotherQuery() {
+        final var byId = KeysetQuery.of("select id, account from users", "id");
+        final var token = jdbcTemplate.queryForPage(byId, ACCOUNT_ROW_MAPPER, 2, null).getContinuationToken();
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForPage(byId.descending(), ACCOUNT_ROW_MAPPER, 2, token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,34 @@
+package nextstep.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 테스트마다 이름이 다른 H2 메모리 DB 와 공용 users 테이블을 만든다.
+ */
+public final class TestDataSources {
+
+    private TestDataSources() {
+    }
+
+    public static JdbcDataSource h2(final String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;");
+        return dataSource;
+    }
+
+    /**
+     * users 테이블을 새로 만들고 user1 ~ user{rows} 계정을 넣는다.
+     */
+    public static JdbcTemplate createUsers(final DataSource dataSource, final int rows) {
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("drop table if exists users");
+        jdbcTemplate.update("create table users (id bigint auto_increment, account varchar(100) not null, primary key(id))");
+        for (int i = 1; i <= rows; i++) {
+            jdbcTemplate.update("insert into users (account) values (?)", "user" + i);
+        }
+        return jdbcTemplate;
+    }
+}
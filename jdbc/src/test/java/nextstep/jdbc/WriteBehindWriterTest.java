@@ -0,0 +1,84 @@
+package nextstep.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.WriteBehindWriter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindWriterTest {
+
+    @Test
+    void acknowledgeAfterBatchIsWritten() throws Exception {
+        final var batches = new CopyOnWriteArrayList<List<Integer>>();
+        try (final var writer = new WriteBehindWriter<Integer>("test-writer", 64, batches::add)) {
+            writer.write(1);
+            writer.writeAndAcknowledge(2).get(1, TimeUnit.SECONDS);
+
+            assertThat(batches).flatExtracting(batch -> batch).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    void closeFlushesPendingItems() {
+        final var batches = new CopyOnWriteArrayList<List<Integer>>();
+        final var writer = new WriteBehindWriter<Integer>("test-writer", 1024, batches::add);
+        writer.setFlushIntervalMillis(60_000);
+        for (int i = 0; i < 100; i++) {
+            writer.write(i);
+        }
+
+        writer.close();
+
+        assertThat(writer.getWrittenCount()).isEqualTo(100);
+        assertThat(batches).hasSizeLessThan(100);
+    }
+
+    @Test
+    void closeWritesEveryAcceptedItemWhileProducersRace() throws InterruptedException {
+        final var written = new LongAdder();
+        final var writer = new WriteBehindWriter<Integer>("test-writer", 64, batch -> written.add(batch.size()));
+        final var accepted = new LongAdder();
+        final var producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                try {
+                    while (true) {
+                        writer.write(1);
+                        accepted.increment();
+                    }
+                } catch (RuntimeException e) {
+                    // 닫히면 write 가 예외를 던진다.
+                }
+            });
+            producers[i].start();
+        }
+
+        Thread.sleep(50);
+        writer.close();
+        for (final var producer : producers) {
+            producer.join();
+        }
+
+        assertThat(written.sum()).isEqualTo(accepted.sum());
+        assertThat(writer.getRejectedCount()).isGreaterThanOrEqualTo(producers.length);
+    }
+
+    @Test
+    void failedBatchCompletesAcknowledgementExceptionally() {
+        try (final var writer = new WriteBehindWriter<Integer>("test-writer", 8, batch -> {
+            throw new IllegalStateException("insert failed");
+        })) {
+            assertThatThrownBy(() -> writer.writeAndAcknowledge(1).get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(writer.getFailedCount()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nextstep.jdbc.cache;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.cache.QueryResultCache;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryResultCacheTest {
+
+    private static final RowMapper<String> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> rs.getString("account");
+    private static final String FIND_ACCOUNT = "select account from users where id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private QueryResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("query-result-cache");
+        jdbcTemplate = TestDataSources.createUsers(dataSource, 10);
+        cache = new QueryResultCache(4, 1, TimeUnit.MINUTES);
+        jdbcTemplate.setQueryResultCache(cache);
+    }
+
+    @Test
+    void hitOnRepeatedQuery() {
+        jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L);
+        final var account = jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L);
+
+        assertThat(account).isEqualTo("user1");
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateInvalidatesReadsOnTheSameTable() {
+        jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L);
+
+        jdbcTemplate.update("update users set account = ? where id = ?", "changed", 1L);
+
+        assertThat(jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L)).isEqualTo("changed");
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writeOnAnotherTableKeepsEntries() {
+        jdbcTemplate.update("create table if not exists others (id bigint)");
+        jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L);
+
+        jdbcTemplate.update("insert into others (id) values (?)", 1L);
+        jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, 1L);
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sizeIsBounded() {
+        for (long id = 1; id <= 10; id++) {
+            jdbcTemplate.queryForObject(FIND_ACCOUNT, ACCOUNT_ROW_MAPPER, id);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(4);
+        assertThat(cache.getEvictionCount()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,68 @@
+package nextstep.jdbc.columnar;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarResultTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("columnar");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("drop table if exists history");
+        jdbcTemplate.update("create table history (id bigint auto_increment, score double, created_at datetime not null, "
+                + "created_by varchar(100), primary key(id))");
+        final var day = LocalDateTime.of(2024, 1, 1, 10, 0);
+        jdbcTemplate.update("insert into history (score, created_at, created_by) values (?, ?, ?)", 1.5, day, "gugu");
+        jdbcTemplate.update("insert into history (score, created_at, created_by) values (?, ?, ?)", 2.5, day.plusHours(1), "gugu");
+        jdbcTemplate.update("insert into history (score, created_at, created_by) values (?, ?, ?)", null, day.plusDays(1), "admin");
+        jdbcTemplate.update("insert into history (score, created_at, created_by) values (?, ?, ?)", 4.0, day.plusDays(1), null);
+    }
+
+    @Test
+    void dictionaryEncodeStrings() {
+        final var result = jdbcTemplate.queryForColumnar("select created_by from history order by id");
+        final var createdBy = result.getStringColumn("CREATED_BY");
+
+        assertThat(result.getRowCount()).isEqualTo(4);
+        assertThat(createdBy.getDictionarySize()).isEqualTo(2);
+        assertThat(createdBy.get(3)).isNull();
+        assertThat(createdBy.countByValue(result.allRows())).containsEntry("gugu", 2L).containsEntry("admin", 1L);
+    }
+
+    @Test
+    void filterAndAggregate() {
+        final var result = jdbcTemplate.queryForColumnar("select id, score, created_by from history order by id");
+        final var ids = result.getLongColumn("id");
+        final var scores = result.getDoubleColumn("score");
+
+        final var selection = result.getStringColumn("created_by").equalTo("gugu");
+        selection.or(ids.between(3, 4));
+
+        assertThat(ids.sum(selection)).isEqualTo(10);
+        assertThat(scores.sum(selection)).isEqualTo(8.0);
+        assertThat(scores.isNull(2)).isTrue();
+    }
+
+    @Test
+    void countTimestampsByDay() {
+        final var result = jdbcTemplate.queryForColumnar("select created_at from history");
+        final long millisPerDay = TimeUnit.DAYS.toMillis(1);
+
+        final var counts = result.getLongColumn("created_at")
+                .countBy(result.allRows(), millis -> Math.floorDiv(millis, millisPerDay));
+
+        assertThat(counts.get(LocalDate.of(2024, 1, 1).toEpochDay(), 0)).isEqualTo(2);
+        assertThat(counts.get(LocalDate.of(2024, 1, 2).toEpochDay(), 0)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,88 @@
+package nextstep.jdbc.datasource;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.InstrumentedDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.PooledDataSource;
+import org.springframework.jdbc.support.metrics.SqlMetrics;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedDataSourceTest {
+
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        final var jdbcDataSource = TestDataSources.h2("instrumented");
+        dataSource = new InstrumentedDataSource(new PooledDataSource(jdbcDataSource, 2, 0));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @Test
+    void trackConcurrentBorrowers() throws SQLException {
+        final var first = DataSourceUtils.getConnection(dataSource);
+        final var second = DataSourceUtils.getConnection(dataSource);
+
+        assertThat(dataSource.getActiveBorrowers()).isEqualTo(2);
+
+        DataSourceUtils.releaseConnection(first, dataSource);
+        DataSourceUtils.releaseConnection(second, dataSource);
+
+        assertThat(dataSource.getActiveBorrowers()).isZero();
+        assertThat(dataSource.getPeakBorrowers()).isEqualTo(2);
+        assertThat(dataSource.getAcquireLatency().getCount()).isEqualTo(2);
+        assertThat(dataSource.getHoldLatency().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void recordAcquisitionOnceIntoConfiguredMetrics() throws SQLException {
+        final var sqlMetrics = new SqlMetrics();
+        dataSource.setSqlMetrics(sqlMetrics);
+        final var lazy = new LazyConnectionDataSourceProxy(dataSource);
+        final long defaultBefore = SqlMetrics.getDefault().snapshot().getConnectionAcquisition().getCount();
+
+        final var connection = DataSourceUtils.getConnection(lazy);
+        connection.createStatement().close();
+        DataSourceUtils.releaseConnection(connection, lazy);
+
+        assertThat(sqlMetrics.snapshot().getConnectionAcquisition().getCount()).isEqualTo(1);
+        assertThat(dataSource.getAcquireLatency().getCount()).isEqualTo(1);
+        assertThat(SqlMetrics.getDefault().snapshot().getConnectionAcquisition().getCount()).isEqualTo(defaultBefore);
+    }
+
+    @Test
+    void closingTwiceIsCountedOnce() throws SQLException {
+        final var connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(dataSource.getActiveBorrowers()).isZero();
+        assertThat(dataSource.getHoldLatency().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reportConnectionHeldPastThreshold() throws Exception {
+        dataSource.setLeakDetectionThresholdMillis(50);
+
+        final var connection = dataSource.getConnection();
+        try {
+            Thread.sleep(400);
+        } finally {
+            connection.close();
+        }
+
+        assertThat(dataSource.getLeaksDetected()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+package nextstep.jdbc.datasource;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.InstrumentedDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.PooledDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyConnectionDataSourceProxyTest {
+
+    private static final RowMapper<Long> COUNT_ROW_MAPPER = (rs, rowNum) -> rs.getLong(1);
+
+    private InstrumentedDataSource instrumented;
+    private LazyConnectionDataSourceProxy dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var jdbcDataSource = TestDataSources.h2("lazy-connection");
+        instrumented = new InstrumentedDataSource(new PooledDataSource(jdbcDataSource, 2, 0));
+        dataSource = new LazyConnectionDataSourceProxy(instrumented);
+        jdbcTemplate = TestDataSources.createUsers(dataSource, 0);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        instrumented.resetStatistics();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        instrumented.close();
+    }
+
+    @Test
+    void transactionWithoutSqlNeverAcquiresConnection() {
+        transactionTemplate.executeWithoutResult(status -> {});
+
+        assertThat(instrumented.getAcquireLatency().getCount()).isZero();
+    }
+
+    @Test
+    void replayTransactionStateOnFirstStatement() {
+        transactionTemplate.setIsolationLevel(Connection.TRANSACTION_SERIALIZABLE);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into users (account) values (?)", "gugu");
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", COUNT_ROW_MAPPER)).isZero();
+        assertThat(instrumented.getActiveBorrowers()).isZero();
+    }
+}
@@ -0,0 +1,208 @@
+package nextstep.jdbc.datasource;
+
+import nextstep.jdbc.TestDataSources;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbc.JdbcPreparedStatement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.PooledDataSource;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledDataSourceTest {
+
+    private PooledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        final var jdbcDataSource = TestDataSources.h2("pool");
+        dataSource = new PooledDataSource(jdbcDataSource, 2, 0);
+        dataSource.setConnectionTimeoutMillis(200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void reuseReturnedConnection() throws SQLException {
+        final var first = dataSource.getConnection();
+        final var physical = first.unwrap(JdbcConnection.class);
+        first.close();
+
+        final var second = dataSource.getConnection();
+
+        assertThat(second.unwrap(JdbcConnection.class)).isSameAs(physical);
+        assertThat(dataSource.getTotalConnections()).isEqualTo(1);
+        second.close();
+    }
+
+    @Test
+    void closedLeaseCannotBeUsed() throws SQLException {
+        final var connection = dataSource.getConnection();
+        connection.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThatThrownBy(connection::createStatement).isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void timeoutWhenPoolExhausted() throws SQLException {
+        final var first = dataSource.getConnection();
+        final var second = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void handOffToWaitingThread() throws Exception {
+        dataSource.setConnectionTimeoutMillis(5_000);
+        final var first = dataSource.getConnection();
+        final var second = dataSource.getConnection();
+
+        final var waiting = CompletableFuture.supplyAsync(() -> {
+            try (final var connection = dataSource.getConnection()) {
+                return connection.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        first.close();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        second.close();
+    }
+
+    @Test
+    void rejectWhenWaitQueueIsFull() throws SQLException {
+        dataSource.setMaximumWaiting(0);
+        final var first = dataSource.getConnection();
+        final var second = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("wait queue");
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void rollbackUncommittedWorkOnReturn() throws SQLException {
+        try (final var connection = dataSource.getConnection()) {
+            connection.createStatement().execute("create table if not exists pool_test (id bigint)");
+        }
+        try (final var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("insert into pool_test values (1)");
+        }
+
+        try (final var connection = dataSource.getConnection();
+             final var resultSet = connection.createStatement().executeQuery("select count(*) from pool_test")) {
+            resultSet.next();
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(resultSet.getInt(1)).isZero();
+        }
+    }
+
+    @Test
+    void reuseCachedPreparedStatement() throws SQLException {
+        dataSource.setStatementCacheSize(10);
+        final String sql = "select ? from dual";
+
+        final JdbcPreparedStatement first;
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, 1);
+            pstmt.executeQuery().close();
+            first = pstmt.unwrap(JdbcPreparedStatement.class);
+        }
+
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(sql)) {
+            assertThat(pstmt.isClosed()).isFalse();
+            assertThat(pstmt.getConnection()).isSameAs(connection);
+            assertThat(pstmt.unwrap(JdbcPreparedStatement.class)).isSameAs(first);
+        }
+    }
+
+    @Test
+    void prefilledConnectionUsesStatementCacheSetLater() throws Exception {
+        try (final var prefilled = new PooledDataSource(TestDataSources.h2("pool-prefill"), 1, 1)) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (prefilled.getIdleConnections() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(prefilled.getIdleConnections()).isOne();
+            prefilled.setStatementCacheSize(10);
+            final String sql = "select 1 from dual";
+
+            final JdbcPreparedStatement first;
+            try (final var connection = prefilled.getConnection();
+                 final var pstmt = connection.prepareStatement(sql)) {
+                first = pstmt.unwrap(JdbcPreparedStatement.class);
+            }
+
+            try (final var connection = prefilled.getConnection();
+                 final var pstmt = connection.prepareStatement(sql)) {
+                assertThat(pstmt.unwrap(JdbcPreparedStatement.class)).isSameAs(first);
+            }
+        }
+    }
+
+    @Test
+    void concurrentlyOpenedStatementsAreDistinct() throws SQLException {
+        dataSource.setStatementCacheSize(10);
+        final String sql = "select 1 from dual";
+
+        try (final var connection = dataSource.getConnection();
+             final var first = connection.prepareStatement(sql);
+             final var second = connection.prepareStatement(sql)) {
+            assertThat(first.unwrap(JdbcPreparedStatement.class))
+                    .isNotSameAs(second.unwrap(JdbcPreparedStatement.class));
+        }
+    }
+
+    @Test
+    void closingCachedStatementClosesOpenResultSet() throws SQLException {
+        dataSource.setStatementCacheSize(10);
+
+        try (final var connection = dataSource.getConnection()) {
+            final var pstmt = connection.prepareStatement("select 1 from dual");
+            final var resultSet = pstmt.executeQuery();
+            pstmt.close();
+
+            assertThat(resultSet.isClosed()).isTrue();
+        }
+    }
+
+    @Test
+    void statementWithUnrestorableSettingIsNotCached() throws SQLException {
+        dataSource.setStatementCacheSize(10);
+        final String sql = "select 1 from dual";
+
+        final JdbcPreparedStatement first;
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(sql)) {
+            pstmt.setMaxFieldSize(10);
+            first = pstmt.unwrap(JdbcPreparedStatement.class);
+        }
+
+        try (final var connection = dataSource.getConnection();
+             final var pstmt = connection.prepareStatement(sql)) {
+            assertThat(pstmt.unwrap(JdbcPreparedStatement.class)).isNotSameAs(first);
+            assertThat(pstmt.getMaxFieldSize()).isZero();
+        }
+    }
+}
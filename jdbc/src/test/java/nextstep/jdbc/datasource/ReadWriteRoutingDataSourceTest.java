@@ -0,0 +1,116 @@
+package nextstep.jdbc.datasource;
+
+import nextstep.jdbc.TestDataSources;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.InstrumentedDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.ReadWriteRoutingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary 와 replica 를 서로 다른 H2 인메모리 DB 로 띄우고, 같은 테이블에 서로 다른 이름을 넣어 어느 쪽에서 읽었는지 구분한다.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final RowMapper<String> NAME_ROW_MAPPER = (rs, rowNum) -> rs.getString(1);
+    private static final String FIND_NAME = "select name from node";
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var primary = createDataSource("primary");
+        final var replica = createDataSource("replica");
+        routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica));
+        routingDataSource.setReadYourWritesWindowMillis(0);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+    }
+
+    private JdbcDataSource createDataSource(final String name) {
+        final var dataSource = TestDataSources.h2("routing-" + name);
+        final var template = new JdbcTemplate(dataSource);
+        template.update("drop table if exists node");
+        template.update("create table node (name varchar(100) not null)");
+        template.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    @Test
+    void queryGoesToReplica() {
+        assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("replica");
+    }
+
+    @Test
+    void updateGoesToPrimary() {
+        jdbcTemplate.update("update node set name = ?", "written");
+
+        final var primaryTemplate = new JdbcTemplate(routingDataSource.getPrimary());
+        assertThat(primaryTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("written");
+        assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesWindowRoutesReadsToPrimary() {
+        routingDataSource.setReadYourWritesWindowMillis(60_000);
+
+        jdbcTemplate.update("update node set name = ?", "written");
+
+        assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("written");
+    }
+
+    @Test
+    void writeConnectionClosedDirectlyEndsPrimaryRouting() throws SQLException {
+        final var write = routingDataSource.getConnection();
+        assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("primary");
+
+        write.close();
+        write.close();
+
+        assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("replica");
+        final var held = routingDataSource.getConnection();
+        try {
+            assertThat(jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("primary");
+        } finally {
+            held.close();
+        }
+    }
+
+    @Test
+    void transactionsRouteByReadOnlyFlag() {
+        final var transactionManager = new DataSourceTransactionManager(routingDataSource);
+        final var readWrite = new TransactionTemplate(transactionManager);
+        final var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        final var fromReadWrite = readWrite.execute(status -> jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER));
+        final var fromReadOnly = readOnly.execute(status -> jdbcTemplate.queryForObject(FIND_NAME, NAME_ROW_MAPPER));
+
+        assertThat(fromReadWrite).isEqualTo("primary");
+        assertThat(fromReadOnly).isEqualTo("replica");
+    }
+
+    @Test
+    void decoratorsPassHintAndReleaseThrough() throws SQLException {
+        try (final var instrumented = new InstrumentedDataSource(routingDataSource)) {
+            final var decorated = new JdbcTemplate(new LazyConnectionDataSourceProxy(instrumented));
+
+            assertThat(decorated.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("replica");
+
+            routingDataSource.setReadYourWritesWindowMillis(60_000);
+            decorated.update("update node set name = ?", "written");
+
+            assertThat(decorated.queryForObject(FIND_NAME, NAME_ROW_MAPPER)).isEqualTo("written");
+        }
+    }
+}
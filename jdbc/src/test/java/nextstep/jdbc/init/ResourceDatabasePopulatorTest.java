@@ -0,0 +1,45 @@
+package nextstep.jdbc.init;
+
+import nextstep.jdbc.TestDataSources;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourceDatabasePopulatorTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = TestDataSources.h2("populator");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void splitStatementsAroundQuotesAndComments() {
+        final var populator = new ResourceDatabasePopulator("populator/seed.sql");
+        populator.setBatchSize(2);
+        populator.setCommitInterval(3);
+
+        populator.execute(dataSource);
+
+        assertThat(jdbcTemplate.query("select account from seed_users order by id", (rs, rowNum) -> rs.getString(1)))
+                .containsExactly("brown", "semi;colon", "-- not a comment");
+    }
+
+    @Test
+    void missingScript() {
+        final var populator = new ResourceDatabasePopulator("populator/missing.sql");
+
+        assertThatThrownBy(() -> populator.execute(dataSource))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("populator/missing.sql");
+    }
+}
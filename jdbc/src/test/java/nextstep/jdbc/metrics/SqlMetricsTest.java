@@ -0,0 +1,92 @@
+package nextstep.jdbc.metrics;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.metrics.LatencyHistogram;
+import org.springframework.jdbc.support.metrics.SqlMetrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlMetricsTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SqlMetrics sqlMetrics;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("sql-metrics");
+        jdbcTemplate = TestDataSources.createUsers(dataSource, 0);
+        sqlMetrics = new SqlMetrics();
+        jdbcTemplate.setSqlMetrics(sqlMetrics);
+    }
+
+    @Test
+    void recordPerNormalizedStatement() {
+        jdbcTemplate.update("insert into users (account) values (?)", "a");
+        jdbcTemplate.update("insert into users (account) values (?)", "b");
+        jdbcTemplate.update("insert into users  (account) values ('c')");
+
+        final var statements = sqlMetrics.snapshot().getStatements();
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).getSql()).isEqualTo("insert into users (account) values (?)");
+        assertThat(statements.get(0).getExecutions()).isEqualTo(3);
+        assertThat(statements.get(0).getRows()).isEqualTo(3);
+    }
+
+    @Test
+    void countErrors() {
+        assertThatThrownBy(() -> jdbcTemplate.update("insert into missing_table (account) values (?)", "a"));
+
+        final var statement = sqlMetrics.snapshot().getStatements().get(0);
+
+        assertThat(statement.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    void captureParameterShapeOfSlowQuery() {
+        sqlMetrics.setSlowQueryThresholdMillis(0);
+
+        jdbcTemplate.query("select account from users where id = ? and account = ?", (rs, rowNum) -> rs.getString(1), 1L, null);
+
+        final var slowQuery = sqlMetrics.snapshot().getSlowQueries().get(0);
+        assertThat(slowQuery.getParameterShape()).isEqualTo("[Long, null]");
+    }
+
+    @Test
+    void percentileIsWithinBucketPrecision() {
+        final var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        final var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(1_000);
+        assertThat(snapshot.getP99Micros()).isBetween(990L, 1_000L);
+        assertThat(snapshot.getP50Micros()).isBetween(500L, 532L);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(1_000);
+    }
+
+    @Test
+    void concurrentRecordsAreNotLostWhileStripesGrow() throws InterruptedException {
+        final var histogram = new LatencyHistogram();
+        final var threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    histogram.record(1_000L);
+                }
+            });
+            threads[i].start();
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.snapshot().getCount()).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,153 @@
+package nextstep.jdbc.namedparam;
+
+import nextstep.jdbc.TestDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NamedParameterJdbcTemplateTest {
+
+    private static final RowMapper<String> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> rs.getString("account");
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var dataSource = TestDataSources.h2("named-param");
+        final var jdbcTemplate = TestDataSources.createUsers(dataSource, 5);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Test
+    void parseSkipsQuotesCommentsAndCasts() {
+        final var parsedSql = NamedParameterUtils.parseSqlStatement(
+                "select ':quoted', id::varchar from users -- :comment\n where id = :id /* :block */ and account = :account");
+
+        assertThat(parsedSql.getParameterNames()).containsExactly("id", "account");
+    }
+
+    @Test
+    void parsedSqlIsCached() {
+        final var sql = "select account from users where id = :id";
+
+        assertThat(namedParameterJdbcTemplate.getParsedSql(sql)).isSameAs(namedParameterJdbcTemplate.getParsedSql(sql));
+    }
+
+    @Test
+    void queryWithMap() {
+        final var account = namedParameterJdbcTemplate.queryForObject(
+                "select account from users where id = :id", Map.of("id", 2L), ACCOUNT_ROW_MAPPER);
+
+        assertThat(account).isEqualTo("user2");
+    }
+
+    @Test
+    void updateWithBeanProperties() {
+        final var updated = namedParameterJdbcTemplate.update(
+                "update users set account = :account where id = :id", new BeanPropertySqlParameterSource(new Account(3L, "changed")));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(namedParameterJdbcTemplate.queryForObject("select account from users where id = :id",
+                Map.of("id", 3L), ACCOUNT_ROW_MAPPER)).isEqualTo("changed");
+    }
+
+    @Test
+    void expandCollectionIntoPaddedInList() {
+        final var sql = "select account from users where id in (:ids) order by id";
+        final var paramSource = new MapSqlParameterSource("ids", List.of(1L, 3L, 5L));
+
+        final var accounts = namedParameterJdbcTemplate.query(sql, paramSource, ACCOUNT_ROW_MAPPER);
+
+        assertThat(accounts).containsExactly("user1", "user3", "user5");
+        assertThat(NamedParameterUtils.substituteNamedParameters(namedParameterJdbcTemplate.getParsedSql(sql), paramSource))
+                .isEqualTo("select account from users where id in (?, ?, ?, ?) order by id");
+    }
+
+    @Test
+    void readEachParameterValueOnce() {
+        final var reads = new AtomicInteger();
+        final var delegate = new MapSqlParameterSource("ids", List.of(1L, 2L, 3L));
+        final SqlParameterSource paramSource = new SqlParameterSource() {
+            @Override
+            public boolean hasValue(final String paramName) {
+                return delegate.hasValue(paramName);
+            }
+
+            @Override
+            public Object getValue(final String paramName) {
+                reads.incrementAndGet();
+                return delegate.getValue(paramName);
+            }
+        };
+
+        final var accounts = namedParameterJdbcTemplate.query(
+                "select account from users where id in (:ids) order by id", paramSource, ACCOUNT_ROW_MAPPER);
+
+        assertThat(accounts).containsExactly("user1", "user2", "user3");
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void batchRowsInSamePaddingBucket() {
+        final var sql = "update users set account = :account where id in (:ids)";
+
+        final var updated = namedParameterJdbcTemplate.batchUpdate(sql, new SqlParameterSource[]{
+                new MapSqlParameterSource(Map.of("account", "odd", "ids", List.of(1L, 3L, 5L))),
+                new MapSqlParameterSource(Map.of("account", "even", "ids", List.of(2L, 4L, 6L, 8L)))});
+
+        assertThat(updated).containsExactly(3, 2);
+        assertThat(namedParameterJdbcTemplate.query("select account from users order by id", Map.of(), ACCOUNT_ROW_MAPPER))
+                .containsExactly("odd", "even", "odd", "even", "odd");
+    }
+
+    @Test
+    void rejectBatchRowsExpandingToDifferentSql() {
+        final var sql = "update users set account = :account where id in (:ids)";
+
+        assertThatThrownBy(() -> namedParameterJdbcTemplate.batchUpdate(sql, new SqlParameterSource[]{
+                new MapSqlParameterSource(Map.of("account", "a", "ids", List.of(1L, 2L))),
+                new MapSqlParameterSource(Map.of("account", "b", "ids", List.of(3L, 4L, 5L)))}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("row 1");
+        assertThat(namedParameterJdbcTemplate.query("select account from users order by id", Map.of(), ACCOUNT_ROW_MAPPER))
+                .containsExactly("user1", "user2", "user3", "user4", "user5");
+    }
+
+    @Test
+    void rejectEmptyCollection() {
+        assertThatThrownBy(() -> namedParameterJdbcTemplate.query("select account from users where id in (:ids)",
+                new MapSqlParameterSource("ids", List.of()), ACCOUNT_ROW_MAPPER))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Account {
+
+        private final long id;
+        private final String account;
+
+        public Account(final long id, final String account) {
+            this.id = id;
+            this.account = account;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getAccount() {
+            return account;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package nextstep.jdbc.transaction;
+
+import nextstep.jdbc.TestDataSources;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.PooledDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSourceTransactionManagerTest {
+
+    private static final RowMapper<String> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> rs.getString(1);
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = TestDataSources.h2("transaction-manager");
+        jdbcTemplate = TestDataSources.createUsers(dataSource, 0);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @Test
+    void rollbackOnException() {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into users (account) values (?)", "gugu");
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void requiresNewCommitsIndependently() {
+        final var outer = new TransactionTemplate(transactionManager);
+        final var inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThatThrownBy(() -> outer.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into users (account) values (?)", "outer");
+            inner.executeWithoutResult(innerStatus -> jdbcTemplate.update("insert into users (account) values (?)", "inner"));
+            throw new IllegalStateException("rollback outer");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("select account from users", ACCOUNT_ROW_MAPPER))
+                .isEqualTo("inner");
+    }
+
+    @Test
+    void nestedRollsBackToSavepoint() {
+        final var outer = new TransactionTemplate(transactionManager);
+        final var nested = new TransactionTemplate(transactionManager);
+        nested.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        outer.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into users (account) values (?)", "outer");
+            try {
+                nested.executeWithoutResult(nestedStatus -> {
+                    jdbcTemplate.update("insert into users (account) values (?)", "nested");
+                    throw new IllegalStateException("rollback nested");
+                });
+            } catch (IllegalStateException ignored) {
+            }
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select account from users", ACCOUNT_ROW_MAPPER))
+                .isEqualTo("outer");
+    }
+
+    @Test
+    void participantRollbackMarksRollbackOnly() {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into users (account) values (?)", "gugu");
+            try {
+                transactionTemplate.executeWithoutResult(inner -> {
+                    throw new IllegalStateException("participant");
+                });
+            } catch (IllegalStateException ignored) {
+            }
+        })).isInstanceOf(UnexpectedRollbackException.class);
+
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void managersOverSameDataSourceShareTransaction() {
+        final var outer = new TransactionTemplate(transactionManager);
+        final var inner = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        assertThatThrownBy(() -> outer.executeWithoutResult(status -> {
+            final var outerConnection = TransactionSynchronizationManager.getResource(dataSource);
+            jdbcTemplate.update("insert into users (account) values (?)", "gugu");
+            try {
+                inner.executeWithoutResult(innerStatus -> {
+                    assertThat(innerStatus.isNewTransaction()).isFalse();
+                    assertThat(TransactionSynchronizationManager.getResource(dataSource)).isSameAs(outerConnection);
+                    throw new IllegalStateException("participant");
+                });
+            } catch (IllegalStateException ignored) {
+            }
+        })).isInstanceOf(UnexpectedRollbackException.class);
+
+        assertThat(count()).isZero();
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isNull();
+    }
+
+    @Test
+    void readOnlyKeepsAutoCommit() {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // H2 는 setReadOnly 를 힌트로만 받아 isReadOnly 가 바뀌지 않으므로 트랜잭션 표시로 확인한다.
+        final boolean autoCommit = transactionTemplate.execute(status -> {
+            try {
+                final var connection = TransactionSynchronizationManager.getResource(dataSource);
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && connection.getAutoCommit();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(autoCommit).isTrue();
+    }
+
+    @Test
+    void failedBeginClearsTransactionState() {
+        final var unavailable = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    throw new IllegalStateException("unavailable");
+                });
+        final var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(unavailable));
+        transactionTemplate.setReadOnly(true);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isFalse();
+    }
+
+    @Test
+    void failedBindReleasesConnection() throws SQLException {
+        final var pool = new PooledDataSource(TestDataSources.h2("transaction-manager-bind"), 1, 0);
+        pool.setConnectionTimeoutMillis(200);
+        final var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(pool));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            })).isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(TransactionSynchronizationManager.getResource(pool)).isNull();
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        try (final var connection = pool.getConnection()) {
+            assertThat(connection.getAutoCommit()).isTrue();
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void afterCommitRunsAfterConnectionRelease() {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        final var boundAfterCommit = new boolean[]{true};
+
+        transactionTemplate.executeWithoutResult(status ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        boundAfterCommit[0] = TransactionSynchronizationManager.getResource(dataSource) != null;
+                    }
+                }));
+
+        assertThat(boundAfterCommit[0]).isFalse();
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from users", (rs, rowNum) -> rs.getInt(1));
+    }
+}
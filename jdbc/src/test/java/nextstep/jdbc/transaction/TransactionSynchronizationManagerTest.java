@@ -0,0 +1,88 @@
+package nextstep.jdbc.transaction;
+
+import nextstep.jdbc.TestDataSources;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSynchronizationManagerTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bindResourcesPerDataSource() throws SQLException {
+        final var dataSources = new ArrayList<JdbcDataSource>();
+        for (int i = 0; i < 3; i++) {
+            final var dataSource = TestDataSources.h2("tsm-" + i);
+            dataSources.add(dataSource);
+        }
+        final var first = dataSources.get(0).getConnection();
+        final var third = dataSources.get(2).getConnection();
+
+        TransactionSynchronizationManager.bindResource(dataSources.get(0), first);
+        TransactionSynchronizationManager.bindResource(dataSources.get(2), third);
+
+        assertThat(TransactionSynchronizationManager.getResource(dataSources.get(0))).isSameAs(first);
+        assertThat(TransactionSynchronizationManager.getResource(dataSources.get(1))).isNull();
+        assertThat(TransactionSynchronizationManager.unbindResource(dataSources.get(0))).isSameAs(first);
+        assertThat(TransactionSynchronizationManager.getResource(dataSources.get(0))).isNull();
+        assertThat(TransactionSynchronizationManager.unbindResource(dataSources.get(2))).isSameAs(third);
+        first.close();
+        third.close();
+    }
+
+    @Test
+    void rejectDoubleBinding() throws SQLException {
+        final var dataSource = TestDataSources.h2("tsm-double");
+        try (final var connection = dataSource.getConnection()) {
+            TransactionSynchronizationManager.bindResource(dataSource, connection);
+
+            assertThatThrownBy(() -> TransactionSynchronizationManager.bindResource(dataSource, connection))
+                    .isInstanceOf(IllegalStateException.class);
+            TransactionSynchronizationManager.unbindResource(dataSource);
+        }
+    }
+
+    @Test
+    void registerRequiresActiveSynchronization() {
+        assertThatThrownBy(() -> TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void triggerCallbacksInOrder() {
+        final var events = new ArrayList<String>();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.add("afterCommit");
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                events.add("afterCompletion:" + status);
+                throw new IllegalStateException("ignored");
+            }
+        });
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(events).containsExactly("afterCommit", "afterCompletion:0");
+    }
+}
@@ -0,0 +1,15 @@
+-- 구분자와 주석이 섞인 시드 스크립트
+drop table if exists seed_users;
+
+create table seed_users (
+    id bigint auto_increment,
+    account varchar(100) not null, /* ; 는 주석 안이면 무시한다 */
+    primary key(id)
+);
+
+insert into seed_users (account) values ('gugu');
+insert into seed_users (account) values ('semi;colon');
+insert into seed_users (account) values ('it''s');
+insert into seed_users (account) values ('-- not a comment');
+update seed_users set account = 'brown' where account = 'gugu';
+delete from seed_users where account = 'it''s';